@@ -7,6 +7,7 @@ import java.util.Arrays;
 import io.smileyjoe.putio.tv.channel.ChannelType;
 import io.smileyjoe.putio.tv.channel.Channels;
 import io.smileyjoe.putio.tv.util.SharedPrefs;
+import io.smileyjoe.putio.tv.video.VideoCache;
 
 public class Application extends android.app.Application {
 
@@ -30,6 +31,18 @@ public class Application extends android.app.Application {
         createChannelsSafely();
     }
 
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        VideoCache.getInstance().trimMemory(level);
+    }
+
+    @Override
+    public void onLowMemory() {
+        super.onLowMemory();
+        VideoCache.getInstance().clear();
+    }
+
     private void setupCrashHandler() {
         final Thread.UncaughtExceptionHandler defaultHandler = Thread.getDefaultUncaughtExceptionHandler();
         Thread.setDefaultUncaughtExceptionHandler((thread, throwable) -> {
@@ -9,7 +9,7 @@ import java.util.Optional;
 
 import io.smileyjoe.putio.tv.R;
 import io.smileyjoe.putio.tv.db.AppDatabase;
-import io.smileyjoe.putio.tv.db.GroupDao;
+import io.smileyjoe.putio.tv.db.GroupMemberDao;
 import io.smileyjoe.putio.tv.object.Group;
 import io.smileyjoe.putio.tv.object.GroupType;
 import io.smileyjoe.putio.tv.object.Video;
@@ -55,6 +55,7 @@ public interface GroupAction extends Action {
         private Context mContext;
         private Video mVideo;
         private Optional<Listener> mListener;
+        private List<Integer> mGroupIds;
 
         public Get(Context context, Video video, Get.Listener listener) {
             mContext = context;
@@ -64,7 +65,9 @@ public interface GroupAction extends Action {
 
         @Override
         protected List<io.smileyjoe.putio.tv.object.Group> onBackground() {
-            return AppDatabase.getInstance(mContext).groupDao().getByType(GroupType.VIDEO.getId());
+            AppDatabase database = AppDatabase.getInstance(mContext);
+            mGroupIds = database.groupMemberDao().getGroupIds(mVideo.getPutId());
+            return database.groupDao().getByType(GroupType.VIDEO.getId());
         }
 
         @Override
@@ -75,7 +78,7 @@ public interface GroupAction extends Action {
                         .forEach(group -> {
                             @StringRes int subTextResId;
 
-                            if (group.getPutIds().contains(mVideo.getPutId())) {
+                            if (mGroupIds.contains(group.getId())) {
                                 subTextResId = R.string.text_remove_from;
                             } else {
                                 subTextResId = R.string.text_add_to;
@@ -108,19 +111,17 @@ public interface GroupAction extends Action {
                     || mGroupId == io.smileyjoe.putio.tv.object.Group.DEFAULT_ID_FAVOURITE) {
                 long putId = mVideo.getPutId();
 
-                GroupDao groupDao = AppDatabase.getInstance(mContext).groupDao();
-                io.smileyjoe.putio.tv.object.Group group = groupDao.get(mGroupId);
+                GroupMemberDao groupMemberDao = AppDatabase.getInstance(mContext).groupMemberDao();
 
-                if (group.getPutIds().contains(putId)) {
-                    group.removePutId(putId);
+                if (groupMemberDao.contains(mGroupId, putId)) {
+                    groupMemberDao.remove(mGroupId, putId);
                     verb = R.string.text_add_to;
                 } else {
-                    group.addPutId(putId);
+                    groupMemberDao.add(mGroupId, putId);
                     verb = R.string.text_remove_from;
                 }
 
-                Settings.getInstance(mContext).saveGroupPutIds(mContext, group);
-                groupDao.updatePutIds(group.getId(), group.getPutIdsJson());
+                Settings.getInstance(mContext).saveGroupPutIds(mContext, (int) mGroupId, groupMemberDao.getPutIds(mGroupId));
             }
 
             return verb;
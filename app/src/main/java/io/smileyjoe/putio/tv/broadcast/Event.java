@@ -0,0 +1,102 @@
+package io.smileyjoe.putio.tv.broadcast;
+
+import java.util.ArrayList;
+
+import io.smileyjoe.putio.tv.interfaces.Folder;
+import io.smileyjoe.putio.tv.object.HistoryItem;
+import io.smileyjoe.putio.tv.object.Video;
+
+/**
+ * Events sent through the {@link EventBus}, they are delivered by reference so receivers
+ * must copy the lists before changing them.
+ */
+public abstract class Event {
+
+    private Event() {
+    }
+
+    /**
+     * Events with the same key that are posted before the first one is delivered are merged,
+     * only the latest is delivered. Null means every event is delivered.
+     */
+    public Object getCoalesceKey() {
+        return null;
+    }
+
+    public static class LoadStarted extends Event {
+    }
+
+    public static class Loaded extends Event {
+        private final HistoryItem mHistoryItem;
+        private final ArrayList<Video> mVideos;
+        private final ArrayList<Folder> mFolders;
+        private final boolean mShouldAddToHistory;
+
+        public Loaded(HistoryItem historyItem, ArrayList<Video> videos, ArrayList<Folder> folders, boolean shouldAddToHistory) {
+            mHistoryItem = historyItem;
+            mVideos = videos;
+            mFolders = folders;
+            mShouldAddToHistory = shouldAddToHistory;
+        }
+
+        public HistoryItem getHistoryItem() {
+            return mHistoryItem;
+        }
+
+        public ArrayList<Video> getVideos() {
+            return mVideos;
+        }
+
+        public ArrayList<Folder> getFolders() {
+            return mFolders;
+        }
+
+        public boolean shouldAddToHistory() {
+            return mShouldAddToHistory;
+        }
+    }
+
+    /**
+     * A further page of a listing that has already been sent as {@link Loaded}
+     */
+    public static class Appended extends Event {
+        private final HistoryItem mHistoryItem;
+        private final ArrayList<Video> mVideos;
+        private final ArrayList<Folder> mFolders;
+
+        public Appended(HistoryItem historyItem, ArrayList<Video> videos, ArrayList<Folder> folders) {
+            mHistoryItem = historyItem;
+            mVideos = videos;
+            mFolders = folders;
+        }
+
+        public HistoryItem getHistoryItem() {
+            return mHistoryItem;
+        }
+
+        public ArrayList<Video> getVideos() {
+            return mVideos;
+        }
+
+        public ArrayList<Folder> getFolders() {
+            return mFolders;
+        }
+    }
+
+    public static class VideoUpdated extends Event {
+        private final Video mVideo;
+
+        public VideoUpdated(Video video) {
+            mVideo = video;
+        }
+
+        public Video getVideo() {
+            return mVideo;
+        }
+
+        @Override
+        public Object getCoalesceKey() {
+            return mVideo.getPutId();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package io.smileyjoe.putio.tv.broadcast;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * In process replacement for system broadcasts. Events are passed by reference and always
+ * delivered on the main thread in the order they were posted, a coalesced burst is delivered
+ * where its first event was posted.
+ * Subscriptions belong to an owner, a {@link LifecycleOwner} is unsubscribed when it is destroyed.
+ */
+public class EventBus {
+
+    public interface Listener<T extends Event> {
+        void onEvent(T event);
+    }
+
+    private static volatile EventBus sInstance;
+
+    private final HashMap<Class<? extends Event>, ArrayList<Subscription<?>>> mSubscriptions = new HashMap<>();
+    private final HashMap<Class<? extends Event>, Event> mSticky = new HashMap<>();
+    private final LinkedHashMap<List<Object>, Event> mPendingCoalesced = new LinkedHashMap<>();
+    // only touched on the main thread //
+    private final HashSet<LifecycleOwner> mObserved = new HashSet<>();
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private boolean mIsFlushScheduled = false;
+
+    public static EventBus getInstance() {
+        if (sInstance == null) {
+            synchronized (EventBus.class) {
+                if (sInstance == null) {
+                    sInstance = new EventBus();
+                }
+            }
+        }
+
+        return sInstance;
+    }
+
+    private EventBus() {
+    }
+
+    public <T extends Event> void subscribe(Object owner, Class<T> type, Listener<T> listener) {
+        subscribe(owner, type, listener, false);
+    }
+
+    /**
+     * @param replaySticky deliver the last sticky event of this type straight away, if there is one
+     */
+    public <T extends Event> void subscribe(Object owner, Class<T> type, Listener<T> listener, boolean replaySticky) {
+        Event sticky;
+
+        synchronized (this) {
+            ArrayList<Subscription<?>> subscriptions = mSubscriptions.get(type);
+
+            if (subscriptions == null) {
+                subscriptions = new ArrayList<>();
+                mSubscriptions.put(type, subscriptions);
+            }
+
+            subscriptions.add(new Subscription<>(owner, listener));
+            sticky = replaySticky ? mSticky.get(type) : null;
+        }
+
+        if (owner instanceof LifecycleOwner) {
+            mMainHandler.post(() -> observe((LifecycleOwner) owner));
+        }
+
+        if (sticky != null) {
+            mMainHandler.post(() -> deliver(sticky));
+        }
+    }
+
+    public synchronized void unsubscribe(Object owner) {
+        for (ArrayList<Subscription<?>> subscriptions : mSubscriptions.values()) {
+            Iterator<Subscription<?>> iterator = subscriptions.iterator();
+
+            while (iterator.hasNext()) {
+                if (iterator.next().mOwner == owner) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    public void post(Event event) {
+        Object coalesceKey = event.getCoalesceKey();
+
+        if (coalesceKey == null) {
+            mMainHandler.post(() -> deliver(event));
+            return;
+        }
+
+        synchronized (mPendingCoalesced) {
+            mPendingCoalesced.put(Arrays.asList(event.getClass(), coalesceKey), event);
+
+            if (mIsFlushScheduled) {
+                return;
+            }
+
+            mIsFlushScheduled = true;
+        }
+
+        mMainHandler.post(this::flushCoalesced);
+    }
+
+    /**
+     * Post the event and keep it as the last value of its type for subscribers that ask for a replay
+     */
+    public void postSticky(Event event) {
+        synchronized (this) {
+            mSticky.put(event.getClass(), event);
+        }
+
+        post(event);
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized <T extends Event> T getSticky(Class<T> type) {
+        return (T) mSticky.get(type);
+    }
+
+    public synchronized void removeSticky(Class<? extends Event> type) {
+        mSticky.remove(type);
+    }
+
+    private void flushCoalesced() {
+        ArrayList<Event> events;
+
+        synchronized (mPendingCoalesced) {
+            events = new ArrayList<>(mPendingCoalesced.values());
+            mPendingCoalesced.clear();
+            mIsFlushScheduled = false;
+        }
+
+        for (Event event : events) {
+            deliver(event);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliver(Event event) {
+        ArrayList<Subscription<?>> subscriptions;
+
+        synchronized (this) {
+            ArrayList<Subscription<?>> registered = mSubscriptions.get(event.getClass());
+
+            if (registered == null || registered.isEmpty()) {
+                return;
+            }
+
+            // receivers can unsubscribe while handling the event //
+            subscriptions = new ArrayList<>(registered);
+        }
+
+        for (Subscription<?> subscription : subscriptions) {
+            if (isSubscribed(event.getClass(), subscription)) {
+                ((Listener<Event>) subscription.mListener).onEvent(event);
+            }
+        }
+    }
+
+    private synchronized boolean isSubscribed(Class<? extends Event> type, Subscription<?> subscription) {
+        ArrayList<Subscription<?>> subscriptions = mSubscriptions.get(type);
+        return subscriptions != null && subscriptions.contains(subscription);
+    }
+
+    private void observe(LifecycleOwner owner) {
+        if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            unsubscribe(owner);
+            return;
+        }
+
+        if (!mObserved.add(owner)) {
+            return;
+        }
+
+        owner.getLifecycle().addObserver(new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event lifecycleEvent) {
+                if (lifecycleEvent == Lifecycle.Event.ON_DESTROY) {
+                    source.getLifecycle().removeObserver(this);
+                    mObserved.remove(source);
+                    unsubscribe(source);
+                }
+            }
+        });
+    }
+
+    private static class Subscription<T extends Event> {
+        private final Object mOwner;
+        private final Listener<T> mListener;
+
+        private Subscription(Object owner, Listener<T> listener) {
+            mOwner = owner;
+            mListener = listener;
+        }
+    }
+}
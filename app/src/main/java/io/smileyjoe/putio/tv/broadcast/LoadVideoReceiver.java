@@ -15,19 +15,21 @@ public interface LoadVideoReceiver extends UpdateVideoReceiver {
 
     void videoLoadStarted();
     void videoLoadFinished(HistoryItem item, ArrayList<Video> videos, ArrayList<Folder> folders, boolean shouldAddToHistory);
+    void videoLoadAppended(HistoryItem item, ArrayList<Video> videos, ArrayList<Folder> folders);
 
     @Override
     default void registerReceiver() {
         UpdateVideoReceiver.super.registerReceiver();
 
-        registerReceiver(Broadcast.Videos.STARTED, (context, intent) -> videoLoadStarted());
+        registerReceiver(Event.LoadStarted.class, event -> videoLoadStarted());
 
-        registerReceiver(Broadcast.Videos.LOADED, (context, intent) -> {
+        registerReceiver(Event.Loaded.class, event -> {
 
-            HistoryItem historyItem = intent.getParcelableExtra(Broadcast.Videos.EXTRA_HISTORY);
-            ArrayList<Video> videos = intent.getParcelableArrayListExtra(Broadcast.Videos.EXTRA_VIDEOS);
-            ArrayList<Folder> folders = intent.getParcelableArrayListExtra(Broadcast.Videos.EXTRA_FOLDERS);
-            boolean shouldAddToHistory = intent.getBooleanExtra(Broadcast.Videos.EXTRA_SHOULD_ADD_HISTORY, false);
+            HistoryItem historyItem = event.getHistoryItem();
+            // the lists are shared with the cache and every other receiver //
+            ArrayList<Video> videos = copy(event.getVideos());
+            ArrayList<Folder> folders = copy(event.getFolders());
+            boolean shouldAddToHistory = event.shouldAddToHistory();
 
             if (historyItem.getId() == Putio.Files.NO_PARENT) {
                 if (Settings.getInstance(getContext()).shouldShowRecentlyAdded()) {
@@ -52,5 +54,12 @@ public interface LoadVideoReceiver extends UpdateVideoReceiver {
                         shouldAddToHistory);
             }
         });
+
+        registerReceiver(Event.Appended.class, event ->
+                videoLoadAppended(event.getHistoryItem(), copy(event.getVideos()), copy(event.getFolders())));
+    }
+
+    static <T> ArrayList<T> copy(ArrayList<T> items) {
+        return items == null ? new ArrayList<>() : new ArrayList<>(items);
     }
 }
@@ -1,7 +1,6 @@
 package io.smileyjoe.putio.tv.broadcast;
 
 import io.smileyjoe.putio.tv.object.Video;
-import io.smileyjoe.putio.tv.video.VideoCache;
 
 public interface UpdateVideoReceiver extends BroadcastReceiver {
 
@@ -9,10 +8,6 @@ public interface UpdateVideoReceiver extends BroadcastReceiver {
 
     @Override
     default void registerReceiver() {
-        registerReceiver(Broadcast.Videos.UPDATE, (context, intent) -> {
-            Video video = intent.getParcelableExtra(Broadcast.Videos.EXTRA_VIDEO);
-            VideoCache.getInstance().update(video);
-            update(video);
-        });
+        registerReceiver(Event.VideoUpdated.class, event -> update(event.getVideo()));
     }
 }
@@ -145,7 +145,7 @@ public class UriHandler implements Parcelable {
                     if (mPutId > 0) {
                         Async.run(() -> {
                             PutioHelper helper = new PutioHelper(context);
-                            helper.parse(mPutId, Putio.Files.get(context, mPutId));
+                            helper.parse(mPutId, Putio.Files.getListing(context, mPutId));
                             return helper.getCurrent();
                         }, video -> {
                             listener.ifPresent(l -> l.onLoaded(mType, video));
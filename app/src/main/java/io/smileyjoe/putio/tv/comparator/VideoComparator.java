@@ -1,6 +1,11 @@
 package io.smileyjoe.putio.tv.comparator;
 
+import java.text.Collator;
 import java.util.Comparator;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import io.smileyjoe.putio.tv.object.Filter;
@@ -32,6 +37,24 @@ public class VideoComparator implements Comparator<Video> {
         }
     }
 
+    private static final Pattern LEADING_ARTICLE = Pattern.compile("^(the|an|a)\\s+(?=\\S)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SEPARATORS = Pattern.compile("[._]+");
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    // digit runs are zero padded to this so 2 sorts before 10 //
+    private static final int NUMBER_WIDTH = 10;
+    private static final byte[] EMPTY_KEY = new byte[0];
+
+    // collators aren't thread safe and are expensive to get //
+    private static final ThreadLocal<Collator> sCollator = new ThreadLocal<Collator>() {
+        @Override
+        protected Collator initialValue() {
+            Collator collator = Collator.getInstance(Locale.getDefault());
+            collator.setStrength(Collator.SECONDARY);
+            collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+            return collator;
+        }
+    };
+
     private Order mOrder;
 
     public VideoComparator(Order order) {
@@ -54,10 +77,87 @@ public class VideoComparator implements Comparator<Video> {
                 break;
             case ALPHABETICAL:
             default:
-                result = videoOne.getPutTitle().compareToIgnoreCase(videoTwo.getPutTitle());
+                result = compare(videoOne.getSortKey(), videoTwo.getSortKey());
                 break;
         }
 
         return result;
     }
+
+    /**
+     * Compares two {@link SortKey#getKey()} values
+     */
+    public static int compare(byte[] keyOne, byte[] keyTwo) {
+        int length = Math.min(keyOne.length, keyTwo.length);
+
+        for (int i = 0; i < length; i++) {
+            int result = Integer.compare(keyOne[i] & 0xff, keyTwo[i] & 0xff);
+
+            if (result != 0) {
+                return result;
+            }
+        }
+
+        return Integer.compare(keyOne.length, keyTwo.length);
+    }
+
+    /**
+     * The collation key of a title once it has been normalised, dots and underscores are spaces,
+     * a leading article is dropped and numbers are compared by value so episode 2 comes before episode 10.
+     * Case is ignored.
+     */
+    public static class SortKey {
+        private final String mTitle;
+        private final byte[] mKey;
+
+        public SortKey(String title) {
+            mTitle = title;
+
+            if (title == null || title.isEmpty()) {
+                mKey = EMPTY_KEY;
+            } else {
+                mKey = sCollator.get().getCollationKey(normalise(title)).toByteArray();
+            }
+        }
+
+        public boolean isFor(String title) {
+            return Objects.equals(mTitle, title);
+        }
+
+        public byte[] getKey() {
+            return mKey;
+        }
+
+        private static String normalise(String title) {
+            String normalised = SEPARATORS.matcher(title).replaceAll(" ").trim();
+            normalised = LEADING_ARTICLE.matcher(normalised).replaceFirst("");
+
+            Matcher matcher = DIGITS.matcher(normalised);
+            StringBuffer padded = new StringBuffer(normalised.length() + NUMBER_WIDTH);
+
+            while (matcher.find()) {
+                matcher.appendReplacement(padded, pad(matcher.group()));
+            }
+
+            matcher.appendTail(padded);
+
+            return padded.toString();
+        }
+
+        private static String pad(String digits) {
+            int start = 0;
+
+            while (start < digits.length() - 1 && digits.charAt(start) == '0') {
+                start++;
+            }
+
+            StringBuilder padded = new StringBuilder(NUMBER_WIDTH);
+
+            for (int i = digits.length() - start; i < NUMBER_WIDTH; i++) {
+                padded.append('0');
+            }
+
+            return padded.append(digits, start, digits.length()).toString();
+        }
+    }
 }
@@ -2,6 +2,10 @@ package io.smileyjoe.putio.tv.db;
 
 import android.content.Context;
 
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
 import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
@@ -13,12 +17,17 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import io.smileyjoe.putio.tv.object.Character;
+import io.smileyjoe.putio.tv.object.FolderListing;
+import io.smileyjoe.putio.tv.object.FolderListingFile;
 import io.smileyjoe.putio.tv.object.Genre;
 import io.smileyjoe.putio.tv.object.Group;
+import io.smileyjoe.putio.tv.object.GroupMember;
+import io.smileyjoe.putio.tv.object.ParsedName;
 import io.smileyjoe.putio.tv.object.TmdbCache;
+import io.smileyjoe.putio.tv.object.TmdbResponse;
 import io.smileyjoe.putio.tv.object.Video;
 
-@Database(entities = {Video.class, Genre.class, Group.class, Character.class, TmdbCache.class}, version = 10)
+@Database(entities = {Video.class, Genre.class, Group.class, Character.class, TmdbCache.class, FolderListing.class, FolderListingFile.class, ParsedName.class, TmdbResponse.class, GroupMember.class}, version = 18)
 public abstract class AppDatabase extends RoomDatabase {
     public abstract VideoDao videoDao();
 
@@ -26,10 +35,18 @@ public abstract class AppDatabase extends RoomDatabase {
 
     public abstract GroupDao groupDao();
 
+    public abstract GroupMemberDao groupMemberDao();
+
     public abstract CharacterDao characterDao();
 
     public abstract TmdbCacheDao tmdbCacheDao();
 
+    public abstract FolderListingDao folderListingDao();
+
+    public abstract ParsedNameDao parsedNameDao();
+
+    public abstract TmdbResponseDao tmdbResponseDao();
+
     private static volatile AppDatabase INSTANCE;
     private static final int NUMBER_OF_THREADS = 4;
     static final ExecutorService databaseWriteExecutor =
@@ -137,6 +154,144 @@ public abstract class AppDatabase extends RoomDatabase {
         }
     };
 
+    static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `folder_listing` ("
+                    + "`id_put_io` INTEGER NOT NULL PRIMARY KEY, "
+                    + "`payload` TEXT, "
+                    + "`updated_at` INTEGER NOT NULL, "
+                    + "`cached_at` INTEGER NOT NULL)");
+        }
+    };
+
+    static final Migration MIGRATION_11_12 = new Migration(11, 12) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `parsed_name` ("
+                    + "`filename_hash` TEXT NOT NULL PRIMARY KEY, "
+                    + "`title` TEXT, "
+                    + "`video_type` TEXT, "
+                    + "`year` INTEGER, "
+                    + "`season` INTEGER, "
+                    + "`episode` INTEGER, "
+                    + "`candidates_json` TEXT, "
+                    + "`parsed_at` INTEGER NOT NULL)");
+        }
+    };
+
+    static final Migration MIGRATION_12_13 = new Migration(12, 13) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE tmdb_cache ADD COLUMN is_negative INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("ALTER TABLE tmdb_cache ADD COLUMN retry_after INTEGER NOT NULL DEFAULT 0");
+        }
+    };
+
+    static final Migration MIGRATION_13_14 = new Migration(13, 14) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `tmdb_response` ("
+                    + "`cache_key` TEXT NOT NULL PRIMARY KEY, "
+                    + "`payload` TEXT, "
+                    + "`etag` TEXT, "
+                    + "`size` INTEGER NOT NULL, "
+                    + "`fetched_at` INTEGER NOT NULL, "
+                    + "`accessed_at` INTEGER NOT NULL)");
+        }
+    };
+
+    static final Migration MIGRATION_14_15 = new Migration(14, 15) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_character_video_tmdb_id` "
+                    + "ON `character` (`video_tmdb_id`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_video_id_tmdb` "
+                    + "ON `video` (`id_tmdb`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_group_group_type_id` "
+                    + "ON `group` (`group_type_id`)");
+        }
+    };
+
+    static final Migration MIGRATION_15_16 = new Migration(15, 16) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `group_member` ("
+                    + "`group_id` INTEGER NOT NULL, "
+                    + "`put_id` INTEGER NOT NULL, "
+                    + "`position` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`group_id`, `put_id`))");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_group_member_put_id` "
+                    + "ON `group_member` (`put_id`)");
+
+            try (Cursor cursor = database.query("SELECT id, put_ids_json FROM `group`")) {
+                while (cursor.moveToNext()) {
+                    int groupId = cursor.getInt(0);
+
+                    for (GroupMember member : GroupMember.fromPutIds(groupId, GroupMember.fromJson(cursor.getString(1)))) {
+                        ContentValues values = new ContentValues();
+                        values.put("group_id", member.getGroupId());
+                        values.put("put_id", member.getPutId());
+                        values.put("position", member.getPosition());
+
+                        database.insert("group_member", SQLiteDatabase.CONFLICT_IGNORE, values);
+                    }
+                }
+            }
+
+            // sqlite can't drop a column on older devices, so the table is copied without it //
+            database.execSQL("CREATE TABLE `group_new` (`id` INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT, "
+                    + "`title` TEXT, "
+                    + "`use_parent` INTEGER NOT NULL, "
+                    + "`group_type_id` INTEGER NOT NULL, "
+                    + "`enabled` INTEGER NOT NULL)");
+            database.execSQL("INSERT INTO `group_new` (id, title, use_parent, group_type_id, enabled) "
+                    + "SELECT id, title, use_parent, group_type_id, enabled FROM `group`");
+            database.execSQL("DROP TABLE `group`");
+            database.execSQL("ALTER TABLE `group_new` RENAME TO `group`");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_group_group_type_id` "
+                    + "ON `group` (`group_type_id`)");
+        }
+    };
+
+    static final Migration MIGRATION_16_17 = new Migration(16, 17) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            // names stored so far count as version 0 and are parsed again //
+            database.execSQL("ALTER TABLE parsed_name ADD COLUMN parser_version INTEGER NOT NULL DEFAULT 0");
+        }
+    };
+
+    static final Migration MIGRATION_17_18 = new Migration(17, 18) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            // stored listings are only a head start, they are fetched again rather than converted //
+            database.execSQL("DROP TABLE IF EXISTS `folder_listing`");
+            database.execSQL("CREATE TABLE IF NOT EXISTS `folder_listing` ("
+                    + "`id_put_io` INTEGER NOT NULL PRIMARY KEY, "
+                    + "`file_count` INTEGER NOT NULL, "
+                    + "`updated_at` INTEGER NOT NULL, "
+                    + "`cached_at` INTEGER NOT NULL)");
+            database.execSQL("CREATE TABLE IF NOT EXISTS `folder_listing_file` ("
+                    + "`id_folder` INTEGER NOT NULL, "
+                    + "`position` INTEGER NOT NULL, "
+                    + "`id_put_io` INTEGER NOT NULL, "
+                    + "`id_parent_put_io` INTEGER NOT NULL, "
+                    + "`name` TEXT, "
+                    + "`screenshot` TEXT, "
+                    + "`is_converted` INTEGER NOT NULL, "
+                    + "`file_type` TEXT, "
+                    + "`stream_uri` TEXT, "
+                    + "`stream_mp4_uri` TEXT, "
+                    + "`size` INTEGER NOT NULL, "
+                    + "`created_at` INTEGER NOT NULL, "
+                    + "`updated_at` INTEGER NOT NULL, "
+                    + "`resume_time` INTEGER NOT NULL, "
+                    + "`is_watched` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`id_folder`, `position`))");
+        }
+    };
+
     public static AppDatabase getInstance(final Context context) {
         if (INSTANCE == null) {
             synchronized (AppDatabase.class) {
@@ -152,6 +307,14 @@ public abstract class AppDatabase extends RoomDatabase {
                             .addMigrations(MIGRATION_7_8)
                             .addMigrations(MIGRATION_8_9)
                             .addMigrations(MIGRATION_9_10)
+                            .addMigrations(MIGRATION_10_11)
+                            .addMigrations(MIGRATION_11_12)
+                            .addMigrations(MIGRATION_12_13)
+                            .addMigrations(MIGRATION_13_14)
+                            .addMigrations(MIGRATION_14_15)
+                            .addMigrations(MIGRATION_15_16)
+                            .addMigrations(MIGRATION_16_17)
+                            .addMigrations(MIGRATION_17_18)
                             .addCallback(new RoomCallback())
                             .build();
                 }
@@ -165,10 +328,10 @@ public abstract class AppDatabase extends RoomDatabase {
         public void onCreate(@NonNull SupportSQLiteDatabase database) {
             super.onCreate(database);
 
-            database.execSQL("INSERT INTO `group` (id, title, put_ids_json, group_type_id, use_parent, enabled) VALUES (1, 'Movies', '[]', 1, 0, 1)");
-            database.execSQL("INSERT INTO `group` (id, title, put_ids_json, group_type_id, use_parent, enabled) VALUES (2, 'Series', '[]', 1, 0, 1)");
-            database.execSQL("INSERT INTO `group` (id, title, put_ids_json, group_type_id, use_parent, enabled) VALUES (3, 'Watch Later', '[]', 3, 1, 1)");
-            database.execSQL("INSERT INTO `group` (id, title, put_ids_json, group_type_id, use_parent, enabled) VALUES (4, 'Favourites', '[]', 3, 1, 1)");
+            database.execSQL("INSERT INTO `group` (id, title, group_type_id, use_parent, enabled) VALUES (1, 'Movies', 1, 0, 1)");
+            database.execSQL("INSERT INTO `group` (id, title, group_type_id, use_parent, enabled) VALUES (2, 'Series', 1, 0, 1)");
+            database.execSQL("INSERT INTO `group` (id, title, group_type_id, use_parent, enabled) VALUES (3, 'Watch Later', 3, 1, 1)");
+            database.execSQL("INSERT INTO `group` (id, title, group_type_id, use_parent, enabled) VALUES (4, 'Favourites', 3, 1, 1)");
         }
     }
 }
@@ -17,6 +17,9 @@ public interface CharacterDao {
     @Query("SELECT * FROM character WHERE video_tmdb_id IS :id")
     List<Character> getByTmdbId(long id);
 
+    @Query("SELECT * FROM character WHERE video_tmdb_id IN (:ids)")
+    List<Character> getByTmdbIds(List<Long> ids);
+
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insert(List<Character> characters);
 }
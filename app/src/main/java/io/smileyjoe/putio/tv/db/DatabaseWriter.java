@@ -0,0 +1,244 @@
+package io.smileyjoe.putio.tv.db;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.smileyjoe.putio.tv.object.Character;
+import io.smileyjoe.putio.tv.object.TmdbCache;
+import io.smileyjoe.putio.tv.object.Video;
+
+/**
+ * Write behind for the rows that are written a few at a time while a folder is being looked up.
+ * Writes are held for up to {@link #FLUSH_DELAY} ms or {@link #MAX_BATCH} rows and then written in a
+ * single transaction, a video or tmdb cache entry written again before then only ends up written once.
+ * Reads don't see a write until it has been flushed, other than tmdb cache entries through
+ * {@link #getTmdbCache(String)}.
+ */
+public class DatabaseWriter {
+
+    private static final String TAG = "DatabaseWriter";
+    private static final long FLUSH_DELAY = 50;
+    private static final int MAX_BATCH = 200;
+
+    private static volatile DatabaseWriter sInstance;
+
+    private final AppDatabase mDatabase;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    // flushes run on a pool, this keeps them in the order they were taken //
+    private final Object mWriteLock = new Object();
+    private LinkedHashMap<Long, Video> mVideos = new LinkedHashMap<>();
+    private ArrayList<Character> mCharacters = new ArrayList<>();
+    private LinkedHashMap<String, TmdbCache> mTmdbCaches = new LinkedHashMap<>();
+    // taken for the write that is running, not in the database until it has finished //
+    private LinkedHashMap<String, TmdbCache> mWritingTmdbCaches = new LinkedHashMap<>();
+    private boolean mIsFlushScheduled = false;
+
+    private final AtomicLong mQueued = new AtomicLong();
+    private final AtomicLong mCoalesced = new AtomicLong();
+    private final AtomicLong mWritten = new AtomicLong();
+    private final AtomicLong mBatches = new AtomicLong();
+    private final AtomicLong mFailed = new AtomicLong();
+
+    public static DatabaseWriter getInstance(Context context) {
+        if (sInstance == null) {
+            synchronized (DatabaseWriter.class) {
+                if (sInstance == null) {
+                    sInstance = new DatabaseWriter(AppDatabase.getInstance(context));
+                }
+            }
+        }
+
+        return sInstance;
+    }
+
+    private DatabaseWriter(AppDatabase database) {
+        mDatabase = database;
+    }
+
+    public void insert(Video video) {
+        synchronized (this) {
+            if (mVideos.put(video.getPutId(), video) != null) {
+                mCoalesced.incrementAndGet();
+            }
+        }
+
+        queued(1);
+    }
+
+    public void insert(List<Video> videos) {
+        synchronized (this) {
+            for (Video video : videos) {
+                if (mVideos.put(video.getPutId(), video) != null) {
+                    mCoalesced.incrementAndGet();
+                }
+            }
+        }
+
+        queued(videos.size());
+    }
+
+    public void insertCharacters(List<Character> characters) {
+        synchronized (this) {
+            mCharacters.addAll(characters);
+        }
+
+        queued(characters.size());
+    }
+
+    /**
+     * Same as {@link TmdbCacheDao#replace(TmdbCache)}
+     */
+    public void replace(TmdbCache tmdbCache) {
+        synchronized (this) {
+            if (mTmdbCaches.put(tmdbCache.getFilenameHash(), tmdbCache) != null) {
+                mCoalesced.incrementAndGet();
+            }
+        }
+
+        queued(1);
+    }
+
+    /**
+     * A tmdb cache entry that has been replaced but may not be written yet
+     *
+     * @return null if there isn't one waiting, the database has the latest
+     */
+    public synchronized TmdbCache getTmdbCache(String filenameHash) {
+        TmdbCache tmdbCache = mTmdbCaches.get(filenameHash);
+
+        if (tmdbCache == null) {
+            tmdbCache = mWritingTmdbCaches.get(filenameHash);
+        }
+
+        return tmdbCache;
+    }
+
+    /**
+     * Write everything that is waiting and return once it has been written.
+     * Must not be called on the main thread.
+     */
+    public void flush() {
+        try {
+            AppDatabase.databaseWriteExecutor.submit(this::write).get();
+        } catch (InterruptedException | ExecutionException e) {
+            Log.e(TAG, "Flush failed", e);
+        }
+    }
+
+    public synchronized int getPendingCount() {
+        return mVideos.size() + mCharacters.size() + mTmdbCaches.size();
+    }
+
+    /**
+     * Writes that were replaced by a later write of the same row before being flushed
+     */
+    public long getCoalescedCount() {
+        return mCoalesced.get();
+    }
+
+    public long getQueuedCount() {
+        return mQueued.get();
+    }
+
+    public long getWrittenCount() {
+        return mWritten.get();
+    }
+
+    /**
+     * Transactions the writes went out in
+     */
+    public long getBatchCount() {
+        return mBatches.get();
+    }
+
+    /**
+     * Writes that were dropped because the transaction they were in failed
+     */
+    public long getFailedCount() {
+        return mFailed.get();
+    }
+
+    private void queued(int count) {
+        mQueued.addAndGet(count);
+
+        boolean isFull;
+
+        synchronized (this) {
+            isFull = getPendingCount() >= MAX_BATCH;
+
+            if (!isFull && mIsFlushScheduled) {
+                return;
+            }
+
+            mIsFlushScheduled = !isFull;
+        }
+
+        if (isFull) {
+            AppDatabase.databaseWriteExecutor.execute(this::write);
+        } else {
+            mMainHandler.postDelayed(() -> AppDatabase.databaseWriteExecutor.execute(this::write), FLUSH_DELAY);
+        }
+    }
+
+    private void write() {
+        synchronized (mWriteLock) {
+            ArrayList<Video> videos;
+            ArrayList<Character> characters;
+            ArrayList<TmdbCache> tmdbCaches;
+
+            synchronized (this) {
+                mIsFlushScheduled = false;
+
+                if (getPendingCount() == 0) {
+                    return;
+                }
+
+                videos = new ArrayList<>(mVideos.values());
+                characters = mCharacters;
+                tmdbCaches = new ArrayList<>(mTmdbCaches.values());
+
+                mWritingTmdbCaches = mTmdbCaches;
+
+                mVideos = new LinkedHashMap<>();
+                mCharacters = new ArrayList<>();
+                mTmdbCaches = new LinkedHashMap<>();
+            }
+
+            try {
+                mDatabase.runInTransaction(() -> {
+                    if (!characters.isEmpty()) {
+                        mDatabase.characterDao().insert(characters);
+                    }
+
+                    if (!videos.isEmpty()) {
+                        mDatabase.videoDao().insert(videos);
+                    }
+
+                    for (TmdbCache tmdbCache : tmdbCaches) {
+                        mDatabase.tmdbCacheDao().replace(tmdbCache);
+                    }
+                });
+
+                mWritten.addAndGet(videos.size() + characters.size() + tmdbCaches.size());
+                mBatches.incrementAndGet();
+            } catch (RuntimeException e) {
+                // not put back, a row that can't be written would take every later batch down with it //
+                mFailed.addAndGet(videos.size() + characters.size() + tmdbCaches.size());
+                Log.e(TAG, "Batch not written, videos: " + videos.size() + " characters: " + characters.size()
+                        + " tmdb caches: " + tmdbCaches.size(), e);
+            } finally {
+                synchronized (this) {
+                    mWritingTmdbCaches = new LinkedHashMap<>();
+                }
+            }
+        }
+    }
+}
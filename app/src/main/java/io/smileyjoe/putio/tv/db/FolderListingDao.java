@@ -0,0 +1,93 @@
+package io.smileyjoe.putio.tv.db;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import java.util.List;
+
+import io.smileyjoe.putio.tv.object.FolderListing;
+import io.smileyjoe.putio.tv.object.FolderListingFile;
+
+@Dao
+public interface FolderListingDao {
+    @Query("SELECT * FROM folder_listing WHERE id_put_io IS :id")
+    FolderListing get(long id);
+
+    @Query("SELECT * FROM folder_listing_file WHERE id_folder = :id ORDER BY position ASC")
+    List<FolderListingFile> getFiles(long id);
+
+    /**
+     * The files of the listing, parent first, or null if none is stored or it wasn't finished
+     */
+    @Transaction
+    default List<FolderListingFile> getComplete(long id) {
+        FolderListing listing = get(id);
+
+        if (listing == null || !listing.isComplete()) {
+            return null;
+        }
+
+        List<FolderListingFile> files = getFiles(id);
+        int count = 0;
+
+        for (FolderListingFile file : files) {
+            if (!file.isParent()) {
+                count++;
+            }
+        }
+
+        return count == listing.getFileCount() ? files : null;
+    }
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insert(FolderListing listing);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertFiles(List<FolderListingFile> files);
+
+    /**
+     * Replace the stored listing with the first page, it isn't complete until {@link #complete(long, int)}
+     */
+    @Transaction
+    default void start(FolderListing listing, List<FolderListingFile> files) {
+        deleteFiles(listing.getPutId());
+        insert(listing);
+        insertFiles(files);
+    }
+
+    @Query("UPDATE folder_listing SET file_count = :fileCount WHERE id_put_io IS :id")
+    void complete(long id, int fileCount);
+
+    /**
+     * The listing was confirmed to still be current
+     */
+    @Query("UPDATE folder_listing SET cached_at = :cachedAt WHERE id_put_io IS :id")
+    void touch(long id, long cachedAt);
+
+    @Query("DELETE FROM folder_listing_file WHERE id_folder = :id")
+    void deleteFiles(long id);
+
+    @Query("DELETE FROM folder_listing WHERE id_put_io IS :id")
+    void deleteListing(long id);
+
+    @Transaction
+    default void delete(long id) {
+        deleteFiles(id);
+        deleteListing(id);
+    }
+
+    @Query("DELETE FROM folder_listing_file WHERE id_folder IN (SELECT id_put_io FROM folder_listing WHERE cached_at < :timestamp)")
+    void deleteFilesOlderThan(long timestamp);
+
+    @Query("DELETE FROM folder_listing WHERE cached_at < :timestamp")
+    void deleteListingsOlderThan(long timestamp);
+
+    @Transaction
+    default void deleteOlderThan(long timestamp) {
+        deleteFilesOlderThan(timestamp);
+        deleteListingsOlderThan(timestamp);
+    }
+}
@@ -0,0 +1,52 @@
+package io.smileyjoe.putio.tv.db;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import java.util.List;
+
+import io.smileyjoe.putio.tv.object.GroupMember;
+
+@Dao
+public interface GroupMemberDao {
+
+    @Query("SELECT put_id FROM group_member WHERE group_id = :groupId ORDER BY position ASC")
+    List<Long> getPutIds(long groupId);
+
+    /**
+     * The groups a folder has been added to
+     */
+    @Query("SELECT group_id FROM group_member WHERE put_id = :putId")
+    List<Integer> getGroupIds(long putId);
+
+    @Query("SELECT COUNT(*) > 0 FROM group_member WHERE group_id = :groupId AND put_id = :putId")
+    boolean contains(long groupId, long putId);
+
+    /**
+     * Add the folder to the end of the group, does nothing if it is already in it
+     */
+    @Query("INSERT OR IGNORE INTO group_member (group_id, put_id, position) "
+            + "SELECT :groupId, :putId, COALESCE(MAX(position) + 1, 0) FROM group_member WHERE group_id = :groupId")
+    void add(long groupId, long putId);
+
+    @Query("DELETE FROM group_member WHERE group_id = :groupId AND put_id = :putId")
+    void remove(long groupId, long putId);
+
+    @Query("DELETE FROM group_member WHERE group_id = :groupId")
+    void deleteByGroupId(long groupId);
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insert(List<GroupMember> members);
+
+    /**
+     * Make the folders the only members of the group, in the order given
+     */
+    @Transaction
+    default void replace(int groupId, List<Long> putIds) {
+        deleteByGroupId(groupId);
+        insert(GroupMember.fromPutIds(groupId, putIds));
+    }
+}
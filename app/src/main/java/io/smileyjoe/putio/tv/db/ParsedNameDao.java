@@ -0,0 +1,31 @@
+package io.smileyjoe.putio.tv.db;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+import io.smileyjoe.putio.tv.object.ParsedName;
+
+@Dao
+public interface ParsedNameDao {
+    @Query("SELECT * FROM parsed_name WHERE filename_hash = :filenameHash AND parser_version = :parserVersion LIMIT 1")
+    ParsedName get(String filenameHash, int parserVersion);
+
+    @Query("SELECT * FROM parsed_name WHERE filename_hash IN (:filenameHashes) AND parser_version = :parserVersion")
+    List<ParsedName> getByHashes(List<String> filenameHashes, int parserVersion);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insert(ParsedName parsedName);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insert(List<ParsedName> parsedNames);
+
+    /**
+     * Drop names parsed before the timestamp or by rules other than the current ones
+     */
+    @Query("DELETE FROM parsed_name WHERE parsed_at < :timestamp OR parser_version != :parserVersion")
+    void deleteStale(long timestamp, int parserVersion);
+}
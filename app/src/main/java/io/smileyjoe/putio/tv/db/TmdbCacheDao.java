@@ -4,6 +4,9 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
+
+import java.util.List;
 
 import io.smileyjoe.putio.tv.object.TmdbCache;
 
@@ -13,9 +16,30 @@ public interface TmdbCacheDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insert(TmdbCache tmdbCache);
 
-    @Query("SELECT * FROM tmdb_cache WHERE filename_hash = :filenameHash LIMIT 1")
+    @Query("SELECT * FROM tmdb_cache WHERE filename_hash = :filenameHash ORDER BY timestamp DESC LIMIT 1")
     TmdbCache getByFilenameHash(String filenameHash);
 
+    /**
+     * Entries for several filenames at once, older entries for the same filename come after the newest
+     */
+    @Query("SELECT * FROM tmdb_cache WHERE filename_hash IN (:filenameHashes) ORDER BY timestamp DESC")
+    List<TmdbCache> getByFilenameHashes(List<String> filenameHashes);
+
+    @Query("DELETE FROM tmdb_cache WHERE filename_hash = :filenameHash")
+    void deleteByFilenameHash(String filenameHash);
+
+    /**
+     * Insert the entry as the only one for its filename
+     */
+    @Transaction
+    default void replace(TmdbCache tmdbCache) {
+        deleteByFilenameHash(tmdbCache.getFilenameHash());
+        insert(tmdbCache);
+    }
+
     @Query("DELETE FROM tmdb_cache WHERE timestamp < :timestamp")
     void deleteOlderThan(long timestamp);
+
+    @Query("DELETE FROM tmdb_cache WHERE is_negative = 1 AND timestamp < :timestamp")
+    void deleteNegativeOlderThan(long timestamp);
 }
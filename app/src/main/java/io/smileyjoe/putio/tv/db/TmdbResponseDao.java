@@ -0,0 +1,35 @@
+package io.smileyjoe.putio.tv.db;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import io.smileyjoe.putio.tv.object.TmdbResponse;
+
+@Dao
+public interface TmdbResponseDao {
+    @Query("SELECT * FROM tmdb_response WHERE cache_key = :cacheKey LIMIT 1")
+    TmdbResponse get(String cacheKey);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insert(TmdbResponse response);
+
+    @Query("UPDATE tmdb_response SET accessed_at = :accessedAt WHERE cache_key = :cacheKey")
+    void touch(String cacheKey, long accessedAt);
+
+    @Query("UPDATE tmdb_response SET fetched_at = :fetchedAt, accessed_at = :fetchedAt WHERE cache_key = :cacheKey")
+    void revalidated(String cacheKey, long fetchedAt);
+
+    @Query("SELECT IFNULL(SUM(size), 0) FROM tmdb_response")
+    long getTotalSize();
+
+    @Query("DELETE FROM tmdb_response WHERE cache_key IN (SELECT cache_key FROM tmdb_response ORDER BY accessed_at ASC LIMIT :count)")
+    void deleteLeastRecentlyUsed(int count);
+
+    @Query("DELETE FROM tmdb_response WHERE accessed_at < :timestamp")
+    void deleteOlderThan(long timestamp);
+
+    @Query("DELETE FROM tmdb_response WHERE cache_key LIKE :pattern")
+    void deleteByKeyPrefix(String pattern);
+}
@@ -5,6 +5,8 @@ import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 
+import java.util.List;
+
 import io.smileyjoe.putio.tv.object.Video;
 
 @Dao
@@ -12,9 +14,15 @@ public interface VideoDao {
     @Query("SELECT * FROM video WHERE id_put_io IS :id")
     Video getByPutId(long id);
 
+    @Query("SELECT * FROM video WHERE id_put_io IN (:ids)")
+    List<Video> getByPutIds(List<Long> ids);
+
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insert(Video video);
 
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insert(List<Video> videos);
+
     @Query("DELETE FROM video WHERE id_put_io IS :id")
     void delete(long id);
 }
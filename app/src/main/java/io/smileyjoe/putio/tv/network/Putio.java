@@ -7,12 +7,15 @@ import com.koushikdutta.ion.Ion;
 import com.koushikdutta.ion.builder.Builders;
 import com.koushikdutta.ion.builder.LoadBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.concurrent.ExecutionException;
 
 import androidx.annotation.Nullable;
 
 import io.smileyjoe.putio.tv.Application;
 import io.smileyjoe.putio.tv.BuildConfig;
+import io.smileyjoe.putio.tv.util.PutioListingReader;
 import io.smileyjoe.putio.tv.util.Settings;
 
 public class Putio {
@@ -112,12 +115,15 @@ public class Putio {
                 "&stream_url_parent=true" +
                 "&mp4_stream_url_parent=true" +
                 "&mp4_status_parent=true";
+        private static final String URL_CONTINUE = BASE + "/files/list/continue";
+        private static final String JSON_CURSOR = "cursor";
 
         private static String getUrl(Context context, long parentId) {
             String url = URL;
 
             if (parentId == NO_PARENT) {
-                url += "&file_type=FOLDER,VIDEO";
+                url += "&file_type=FOLDER,VIDEO" +
+                        "&per_page=" + getPerPage(context);
             } else if (parentId == PARENT_ID_RECENT) {
                 url += "&file_type=VIDEO" +
                         "&per_page=" + (Settings.getInstance(context).getVideoNumCols() * 3) +
@@ -125,25 +131,84 @@ public class Putio {
                         "&parent_id=" + parentId;
             } else {
                 url += "&file_type=FOLDER,VIDEO" +
+                        "&per_page=" + getPerPage(context) +
                         "&parent_id=" + parentId;
             }
 
             return url;
         }
 
-        public static void get(Context context, long parentId, Response response) {
-            execute(context, getUrl(context, parentId), response);
+        private static int getPerPage(Context context) {
+            return Settings.getInstance(context).getFilesPerPage();
         }
 
-        public static JsonObject get(Context context, long parentId) {
+        /**
+         * Cursor for the next page of a listing, null when there are no more pages.
+         * The recently added folder is always a single page.
+         */
+        @Nullable
+        public static String getCursor(long parentId, PutioListingReader.Listing listing) {
+            if (parentId == PARENT_ID_RECENT || listing == null) {
+                return null;
+            }
+
+            return listing.getCursor();
+        }
+
+        /**
+         * First page of the listing, use {@link #getCursor(long, PutioListingReader.Listing)} and
+         * {@link #next(Context, String, ResponseListing)} for the rest
+         */
+        public static void get(Context context, long parentId, ResponseListing response) {
+            getBaseCall(context, getUrl(context, parentId))
+                    .asInputStream()
+                    .withResponse()
+                    .setCallback(response);
+        }
+
+        public static void next(Context context, String cursor, ResponseListing response) {
+            getNextCall(context, cursor)
+                    .asInputStream()
+                    .withResponse()
+                    .setCallback(response);
+        }
+
+        /**
+         * Whole listing, every page is fetched and the files are merged into the first page.
+         * Streamed straight into videos without building a json tree.
+         */
+        @Nullable
+        public static PutioListingReader.Listing getListing(Context context, long parentId) {
             try {
-                return getBaseCall(context, getUrl(context, parentId))
-                        .asJsonObject()
-                        .get();
-            } catch (InterruptedException | ExecutionException e) {
+                PutioListingReader.Listing result = read(getBaseCall(context, getUrl(context, parentId)).asInputStream().get());
+                String cursor = getCursor(parentId, result);
+
+                while (cursor != null) {
+                    PutioListingReader.Listing page = read(getNextCall(context, cursor).asInputStream().get());
+
+                    result.addPage(page);
+                    cursor = getCursor(parentId, result);
+                }
+
+                return result;
+            } catch (InterruptedException | ExecutionException | IOException e) {
                 return null;
             }
         }
+
+        private static PutioListingReader.Listing read(InputStream inputStream) throws IOException {
+            if (inputStream == null) {
+                throw new IOException("Empty listing response");
+            }
+
+            return PutioListingReader.read(inputStream);
+        }
+
+        private static Builders.Any.U getNextCall(Context context, String cursor) {
+            return getBaseCall(context, Verb.POST, URL_CONTINUE)
+                    .setBodyParameter(JSON_CURSOR, cursor)
+                    .setBodyParameter("per_page", Integer.toString(getPerPage(context)));
+        }
     }
 
     public static class Config extends Base {
@@ -202,7 +267,7 @@ public class Putio {
 
     private abstract static class Base {
         protected enum Verb {
-            PUT
+            PUT, POST
         }
 
         protected static final String BASE = "https://api.put.io/v2";
@@ -231,11 +296,21 @@ public class Putio {
             execute(context, null, url, response);
         }
 
+        /**
+         * Reads that overlap with an identical one share its request, writes always go out
+         */
         protected static void execute(Context context, @Nullable Verb verb, String url, Response response) {
-            getBaseCall(context, verb, url)
-                    .asJsonObject()
-                    .withResponse()
-                    .setCallback(response);
+            if (verb == null) {
+                SingleFlight.execute(context, url, response, callback -> getBaseCall(context.getApplicationContext(), url)
+                        .asJsonObject()
+                        .withResponse()
+                        .setCallback(callback));
+            } else {
+                getBaseCall(context, verb, url)
+                        .asJsonObject()
+                        .withResponse()
+                        .setCallback(response);
+            }
         }
 
         protected static void execute(Context context, String url, JsonObject jsonObject, Response response) {
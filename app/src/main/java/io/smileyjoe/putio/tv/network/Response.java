@@ -14,7 +14,17 @@ public abstract class Response implements FutureCallback<com.koushikdutta.ion.Re
 
     @Override
     public void onCompleted(Exception e, com.koushikdutta.ion.Response<JsonObject> result) {
-        int responseCode = result.getHeaders().code();
+        onCompleted(e, result, e == null ? result.getResult() : null);
+    }
+
+    /**
+     * Same as {@link #onCompleted(Exception, com.koushikdutta.ion.Response)} with the body passed on its own,
+     * a shared response hands every caller their own copy
+     *
+     * @param result null when the body didn't come straight from a request, like a cached one
+     */
+    void onCompleted(Exception e, com.koushikdutta.ion.Response<JsonObject> result, JsonObject json) {
+        int responseCode = result == null ? 0 : result.getHeaders().code();
 
         if (responseCode == 401) {
             Log.e("PutThings", result.getRequest().getPath());
@@ -28,7 +38,7 @@ public abstract class Response implements FutureCallback<com.koushikdutta.ion.Re
         }
 
         if (e == null) {
-            onSuccess(result.getResult());
+            onSuccess(json);
         } else {
             onFail(e);
         }
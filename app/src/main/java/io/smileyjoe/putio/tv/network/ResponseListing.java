@@ -0,0 +1,59 @@
+package io.smileyjoe.putio.tv.network;
+
+import android.util.Log;
+
+import com.koushikdutta.async.future.FutureCallback;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import io.smileyjoe.putio.tv.util.Async;
+import io.smileyjoe.putio.tv.util.PutioListingReader;
+
+/**
+ * A put.io listing decoded with {@link PutioListingReader} off the main thread, the callbacks are on the main thread
+ */
+public abstract class ResponseListing implements FutureCallback<com.koushikdutta.ion.Response<InputStream>> {
+
+    public abstract void onSuccess(PutioListingReader.Listing result);
+
+    public void onFail(Exception e) {
+    }
+
+    @Override
+    public void onCompleted(Exception e, com.koushikdutta.ion.Response<InputStream> result) {
+        int responseCode = result == null ? 0 : result.getHeaders().code();
+
+        if (responseCode == 401) {
+            Log.e("PutThings", result.getRequest().getPath());
+        }
+
+        if (e != null) {
+            onFail(e);
+            return;
+        }
+
+        InputStream body = result.getResult();
+
+        if (body == null || responseCode >= 400) {
+            // an error body isn't a listing //
+            onFail(new IOException("Listing request failed: " + responseCode));
+            return;
+        }
+
+        Async.run(Async.Lane.CPU, () -> {
+            try {
+                return PutioListingReader.read(body);
+            } catch (IOException | RuntimeException readException) {
+                Log.w("PutThings", "Unreadable listing", readException);
+                return null;
+            }
+        }, listing -> {
+            if (listing == null) {
+                onFail(new IOException("Unreadable listing"));
+            } else {
+                onSuccess(listing);
+            }
+        });
+    }
+}
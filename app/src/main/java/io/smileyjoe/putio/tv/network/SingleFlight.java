@@ -0,0 +1,175 @@
+package io.smileyjoe.putio.tv.network;
+
+import android.app.Activity;
+import android.content.Context;
+
+import com.google.gson.JsonObject;
+import com.koushikdutta.async.future.Cancellable;
+import com.koushikdutta.async.future.FutureCallback;
+import com.koushikdutta.async.future.SimpleCancellable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Requests for the same url that overlap share a single HTTP call, the response is handed to every
+ * caller. Each caller gets its own copy of the body so they can change it.
+ * Cancelling only drops that caller, the call itself is cancelled when nobody is waiting for it.
+ * The call is made with the application context, like Ion callers on an activity that has gone are skipped.
+ */
+class SingleFlight {
+
+    interface Call {
+        Cancellable start(Callback callback);
+    }
+
+    abstract static class Callback implements FutureCallback<com.koushikdutta.ion.Response<JsonObject>> {
+        /**
+         * Complete with a body that didn't come straight from a request, like a cached one
+         */
+        abstract void onCompleted(Exception e, JsonObject json);
+    }
+
+    private static final HashMap<String, Flight> sFlights = new HashMap<>();
+
+    private SingleFlight() {
+    }
+
+    /**
+     * @param key what makes two calls the same, only use it for requests without side effects
+     * @param call started unless an identical one is already in flight
+     */
+    static Cancellable execute(Context context, String key, Response response, Call call) {
+        Flight flight;
+        Waiter waiter;
+        boolean isNew = false;
+
+        synchronized (sFlights) {
+            flight = sFlights.get(key);
+
+            if (flight == null) {
+                flight = new Flight(key);
+                sFlights.put(key, flight);
+                isNew = true;
+            }
+
+            waiter = new Waiter(flight, context, response);
+            flight.mWaiters.add(waiter);
+        }
+
+        if (isNew) {
+            flight.setRequest(call.start(flight));
+        }
+
+        return waiter;
+    }
+
+    private static class Flight extends Callback {
+        private final String mKey;
+        private final ArrayList<Waiter> mWaiters = new ArrayList<>();
+        private Cancellable mRequest;
+        private boolean mIsCancelled = false;
+
+        private Flight(String key) {
+            mKey = key;
+        }
+
+        private void setRequest(Cancellable request) {
+            boolean isCancelled;
+
+            synchronized (sFlights) {
+                mRequest = request;
+                isCancelled = mIsCancelled;
+            }
+
+            if (isCancelled && request != null) {
+                request.cancel();
+            }
+        }
+
+        private void remove(Waiter waiter) {
+            Cancellable request;
+
+            synchronized (sFlights) {
+                if (!mWaiters.remove(waiter) || !mWaiters.isEmpty()) {
+                    return;
+                }
+
+                // nobody is waiting any more //
+                mIsCancelled = true;
+                request = mRequest;
+
+                if (sFlights.get(mKey) == this) {
+                    sFlights.remove(mKey);
+                }
+            }
+
+            if (request != null) {
+                request.cancel();
+            }
+        }
+
+        @Override
+        public void onCompleted(Exception e, com.koushikdutta.ion.Response<JsonObject> result) {
+            complete(e, result, e == null && result != null ? result.getResult() : null);
+        }
+
+        @Override
+        void onCompleted(Exception e, JsonObject json) {
+            complete(e, null, json);
+        }
+
+        private void complete(Exception e, com.koushikdutta.ion.Response<JsonObject> result, JsonObject json) {
+            ArrayList<Waiter> waiters;
+
+            synchronized (sFlights) {
+                if (sFlights.get(mKey) == this) {
+                    sFlights.remove(mKey);
+                }
+
+                waiters = new ArrayList<>(mWaiters);
+                mWaiters.clear();
+            }
+
+            boolean isFirst = true;
+
+            for (Waiter waiter : waiters) {
+                if (!waiter.setComplete() || !waiter.isAlive()) {
+                    continue;
+                }
+
+                if (waiter.mResponse != null) {
+                    waiter.mResponse.onCompleted(e, result, json == null || isFirst ? json : json.deepCopy());
+                }
+
+                isFirst = false;
+            }
+        }
+    }
+
+    private static class Waiter extends SimpleCancellable {
+        private final Flight mFlight;
+        private final Context mContext;
+        private final Response mResponse;
+
+        private Waiter(Flight flight, Context context, Response response) {
+            mFlight = flight;
+            mContext = context;
+            mResponse = response;
+        }
+
+        private boolean isAlive() {
+            if (mContext instanceof Activity) {
+                Activity activity = (Activity) mContext;
+                return !activity.isFinishing() && !activity.isDestroyed();
+            }
+
+            return true;
+        }
+
+        @Override
+        protected void cancelCleanup() {
+            mFlight.remove(this);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import android.text.TextUtils;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.koushikdutta.async.future.Cancellable;
 import com.koushikdutta.ion.Ion;
 
 import java.net.URLEncoder;
@@ -12,6 +13,7 @@ import java.util.ArrayList;
 
 import io.smileyjoe.putio.tv.BuildConfig;
 import io.smileyjoe.putio.tv.db.AppDatabase;
+import io.smileyjoe.putio.tv.object.TmdbResponse;
 import io.smileyjoe.putio.tv.util.Async;
 import io.smileyjoe.putio.tv.util.TmdbUtil;
 
@@ -24,13 +26,32 @@ public class Tmdb {
     private static String SEARCH = "/search";
     private static String MOVIE = "/movie";
     private static String TV = "/tv";
-    private static String EPISODE = TV + "/{id}/season/{season}/episode/{episode}";
+    private static String SEASON = TV + "/{id}/season/{season}";
+    private static String EPISODE = SEASON + "/episode/{episode}";
     private static String MOVIE_CREDITS = MOVIE + "/{id}/credits";
     private static String LIST = "/list";
     private static String GENRE = "/genre";
     private static String PARAM_API_KEY = "api_key";
     private static String PARAM_SEARCH = "query";
     private static String PARAM_YEAR = "primary_release_year";
+    private static String TYPE_MOVIE = "movie";
+    private static String TYPE_TV = "tv";
+    private static String TYPE_SEASON = "tv_season";
+
+    /**
+     * Drop the stored responses for the id so the next request for it goes to TMDB.
+     * Must not be called on the main thread.
+     */
+    public static void invalidate(Context context, long id) {
+        if (id <= 0) {
+            return;
+        }
+
+        TmdbResponseCache.invalidate(context,
+                TmdbResponse.getKeyPrefix(TYPE_MOVIE, id),
+                TmdbResponse.getKeyPrefix(TYPE_TV, id),
+                TmdbResponse.getKeyPrefix(TYPE_SEASON, id));
+    }
 
     private static class Base {
         protected static String getUrl(String... paths) {
@@ -48,6 +69,24 @@ public class Tmdb {
         protected static String addParam(String url, String key, String value) {
             return url + "&" + key + "=" + URLEncoder.encode(value);
         }
+
+        /**
+         * Callers asking for the same url at the same time share one request
+         */
+        protected static Cancellable execute(Context context, String url, Response response) {
+            return SingleFlight.execute(context, url, response, callback -> Ion.with(context.getApplicationContext())
+                    .load(url)
+                    .asJsonObject()
+                    .withResponse()
+                    .setCallback(callback));
+        }
+
+        /**
+         * Same as {@link #execute(Context, String, Response)} but served from the {@link TmdbResponseCache} when it can be
+         */
+        protected static Cancellable execute(Context context, String cacheKey, String url, Response response) {
+            return SingleFlight.execute(context, url, response, callback -> TmdbResponseCache.get(context, cacheKey, url, callback));
+        }
     }
 
     public static class Image extends Base {
@@ -83,11 +122,7 @@ public class Tmdb {
 
     public static class Genre extends Base {
         public static void update(Context context) {
-            Ion.with(context)
-                    .load(getUrl(GENRE, MOVIE, LIST))
-                    .asJsonObject()
-                    .withResponse()
-                    .setCallback(new OnResponse(context));
+            execute(context, getUrl(GENRE, MOVIE, LIST), new OnResponse(context));
         }
 
         private static class OnResponse extends Response {
@@ -116,14 +151,10 @@ public class Tmdb {
             String url = getUrl(SEARCH, TV);
             url = addParam(url, PARAM_SEARCH, title);
 
-            Ion.with(context)
-                    .load(url)
-                    .asJsonObject()
-                    .withResponse()
-                    .setCallback(response);
+            execute(context, url, response);
         }
 
-        public static void search(Context context, String title, int year, Response response) {
+        public static Cancellable search(Context context, String title, int year, Response response) {
 
             String url = getUrl(SEARCH, TV);
             url = addParam(url, PARAM_SEARCH, title);
@@ -131,21 +162,24 @@ public class Tmdb {
                 url = addParam(url, "first_air_date_year", Integer.toString(year));
             }
 
-            Ion.with(context)
-                    .load(url)
-                    .asJsonObject()
-                    .withResponse()
-                    .setCallback(response);
+            return execute(context, url, response);
         }
 
         public static void get(Context context, long id, Response response) {
             String url = getUrl(TV, "/" + id);
 
-            Ion.with(context)
-                    .load(url)
-                    .asJsonObject()
-                    .withResponse()
-                    .setCallback(response);
+            execute(context, TmdbResponse.getKey(TYPE_TV, id, 0, 0), url, response);
+        }
+
+        /**
+         * Every episode of a season in one request, see {@link TmdbUtil.OnTmdbSeasonResponse}
+         */
+        public static void getSeason(Context context, long id, int season, Response response) {
+            String url = getUrl(SEASON)
+                    .replace("{id}", Long.toString(id))
+                    .replace("{season}", Integer.toString(season));
+
+            execute(context, TmdbResponse.getKey(TYPE_SEASON, id, season, 0), url, response);
         }
 
         public static void getEpisode(Context context, long id, int season, int episode, Response response) {
@@ -154,36 +188,24 @@ public class Tmdb {
                     .replace("{season}", Integer.toString(season))
                     .replace("{episode}", Integer.toString(episode));
 
-            Ion.with(context)
-                    .load(url)
-                    .asJsonObject()
-                    .withResponse()
-                    .setCallback(response);
+            execute(context, TmdbResponse.getKey(TYPE_TV, id, season, episode), url, response);
         }
     }
 
     public static class Movie extends Base {
-        public static void search(Context context, String title, int year, Response response) {
+        public static Cancellable search(Context context, String title, int year, Response response) {
 
             String url = getUrl(SEARCH, MOVIE);
             url = addParam(url, PARAM_SEARCH, title);
             url = addParam(url, PARAM_YEAR, Integer.toString(year));
 
-            Ion.with(context)
-                    .load(url)
-                    .asJsonObject()
-                    .withResponse()
-                    .setCallback(response);
+            return execute(context, url, response);
         }
 
         public static void get(Context context, long id, Response response) {
             String url = getUrl(MOVIE, "/" + id) + "&append_to_response=credits,videos";
 
-            Ion.with(context)
-                    .load(url)
-                    .asJsonObject()
-                    .withResponse()
-                    .setCallback(response);
+            execute(context, TmdbResponse.getKey(TYPE_MOVIE, id, 0, 0), url, response);
         }
     }
 
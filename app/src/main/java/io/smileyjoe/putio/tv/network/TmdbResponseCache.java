@@ -0,0 +1,232 @@
+package io.smileyjoe.putio.tv.network;
+
+import android.content.Context;
+import android.text.TextUtils;
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.koushikdutta.async.future.Cancellable;
+import com.koushikdutta.async.future.SimpleCancellable;
+import com.koushikdutta.ion.Ion;
+import com.koushikdutta.ion.builder.Builders;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.smileyjoe.putio.tv.db.AppDatabase;
+import io.smileyjoe.putio.tv.db.TmdbResponseDao;
+import io.smileyjoe.putio.tv.object.TmdbResponse;
+import io.smileyjoe.putio.tv.util.Async;
+
+/**
+ * Stored TMDB detail responses. A response is used as is while it is fresh, after that it is
+ * revalidated with its ETag so an unchanged one doesn't have to be downloaded again.
+ * The least recently used responses are dropped once they take up more than {@link #MAX_SIZE}.
+ */
+public class TmdbResponseCache {
+
+    private static final String TAG = "TmdbResponseCache";
+    private static final long TTL = TimeUnit.DAYS.toMillis(7);
+    private static final long MAX_AGE = TimeUnit.DAYS.toMillis(90);
+    // in chars of json //
+    private static final long MAX_SIZE = 20 * 1024 * 1024;
+    private static final int EVICT_BATCH = 50;
+    private static final int HTTP_NOT_MODIFIED = 304;
+
+    private static final AtomicLong sHits = new AtomicLong();
+    private static final AtomicLong sMisses = new AtomicLong();
+    private static final AtomicLong sRevalidated = new AtomicLong();
+
+    private TmdbResponseCache() {
+    }
+
+    /**
+     * Responses that were fresh enough to be used without asking TMDB
+     */
+    public static long getHitCount() {
+        return sHits.get();
+    }
+
+    /**
+     * Responses that had to be downloaded
+     */
+    public static long getMissCount() {
+        return sMisses.get();
+    }
+
+    /**
+     * Stale responses TMDB confirmed had not changed
+     */
+    public static long getRevalidatedCount() {
+        return sRevalidated.get();
+    }
+
+    /**
+     * Drop responses that haven't been used for a while.
+     * Must not be called on the main thread.
+     */
+    public static void sweep(Context context) {
+        AppDatabase.getInstance(context).tmdbResponseDao().deleteOlderThan(System.currentTimeMillis() - MAX_AGE);
+    }
+
+    /**
+     * Drop the stored responses whose keys start with any of the prefixes.
+     * Must not be called on the main thread.
+     */
+    static void invalidate(Context context, String... keyPrefixes) {
+        TmdbResponseDao dao = AppDatabase.getInstance(context).tmdbResponseDao();
+
+        for (String keyPrefix : keyPrefixes) {
+            dao.deleteByKeyPrefix(keyPrefix + "%");
+        }
+    }
+
+    /**
+     * The stored response is read on the pool, the request itself doesn't hold a thread while it waits
+     */
+    static Cancellable get(Context context, String cacheKey, String url, SingleFlight.Callback callback) {
+        SimpleCancellable cancellable = new SimpleCancellable();
+        Context applicationContext = context.getApplicationContext();
+        TmdbResponseDao dao = AppDatabase.getInstance(applicationContext).tmdbResponseDao();
+
+        Async.run(() -> read(dao, cacheKey), cached -> {
+            if (cancellable.isCancelled()) {
+                return;
+            }
+
+            if (cached.mJson != null) {
+                complete(cancellable, callback, new Result(null, cached.mJson));
+            } else {
+                request(applicationContext, dao, cacheKey, url, cached.mResponse, cancellable, callback);
+            }
+        });
+
+        return cancellable;
+    }
+
+    private static Cached read(TmdbResponseDao dao, String cacheKey) {
+        TmdbResponse cached = dao.get(cacheKey);
+        long now = System.currentTimeMillis();
+
+        if (cached != null && now - cached.getFetchedAt() < TTL) {
+            JsonObject json = cached.getPayloadAsJson();
+
+            if (json != null) {
+                sHits.incrementAndGet();
+                dao.touch(cacheKey, now);
+                logStats();
+                return new Cached(cached, json);
+            }
+        }
+
+        return new Cached(cached, null);
+    }
+
+    private static void request(Context context, TmdbResponseDao dao, String cacheKey, String url, TmdbResponse cached,
+                                SimpleCancellable cancellable, SingleFlight.Callback callback) {
+        Builders.Any.B call = Ion.with(context).load(url);
+
+        if (cached != null && !TextUtils.isEmpty(cached.getEtag())) {
+            call.setHeader("If-None-Match", cached.getEtag());
+        }
+
+        call.asString()
+                .withResponse()
+                .setCallback((e, response) -> Async.run(
+                        () -> store(dao, cacheKey, cached, e, response),
+                        result -> complete(cancellable, callback, result)));
+    }
+
+    private static Result store(TmdbResponseDao dao, String cacheKey, TmdbResponse cached, Exception e,
+                                com.koushikdutta.ion.Response<String> response) {
+        long now = System.currentTimeMillis();
+
+        try {
+            if (e != null) {
+                throw e;
+            }
+
+            int code = response.getHeaders().code();
+
+            if (code == HTTP_NOT_MODIFIED && cached != null) {
+                JsonObject json = cached.getPayloadAsJson();
+
+                if (json != null) {
+                    sRevalidated.incrementAndGet();
+                    dao.revalidated(cacheKey, now);
+                    logStats();
+                    return new Result(null, json);
+                }
+            }
+
+            if (response.getException() != null) {
+                throw response.getException();
+            }
+
+            if (code < 200 || code >= 300) {
+                throw new Exception("TMDB responded " + code + " for " + cacheKey);
+            }
+
+            String payload = response.getResult();
+            JsonObject json = new Gson().fromJson(payload, JsonObject.class);
+
+            if (json == null) {
+                throw new Exception("TMDB sent an empty response for " + cacheKey);
+            }
+
+            sMisses.incrementAndGet();
+            dao.insert(TmdbResponse.fromApi(cacheKey, payload, response.getHeaders().getHeaders().get("ETag")));
+            evict(dao);
+            logStats();
+
+            return new Result(null, json);
+        } catch (Exception exception) {
+            // a stale response is better than none when TMDB can't be reached //
+            JsonObject json = cached == null ? null : cached.getPayloadAsJson();
+
+            if (json != null) {
+                return new Result(null, json);
+            }
+
+            return new Result(exception, null);
+        }
+    }
+
+    private static void complete(SimpleCancellable cancellable, SingleFlight.Callback callback, Result result) {
+        if (cancellable.setComplete()) {
+            callback.onCompleted(result.mException, result.mJson);
+        }
+    }
+
+    private static void evict(TmdbResponseDao dao) {
+        while (dao.getTotalSize() > MAX_SIZE) {
+            dao.deleteLeastRecentlyUsed(EVICT_BATCH);
+        }
+    }
+
+    private static void logStats() {
+        Log.d(TAG, "hits: " + sHits.get() + " misses: " + sMisses.get() + " revalidated: " + sRevalidated.get());
+    }
+
+    private static class Cached {
+        private final TmdbResponse mResponse;
+        // only set when the stored response is fresh enough to use //
+        private final JsonObject mJson;
+
+        private Cached(TmdbResponse response, JsonObject json) {
+            mResponse = response;
+            mJson = json;
+        }
+    }
+
+    private static class Result {
+        private final Exception mException;
+        private final JsonObject mJson;
+
+        private Result(Exception exception, JsonObject json) {
+            mException = exception;
+            mJson = json;
+        }
+    }
+}
@@ -7,9 +7,11 @@ import android.text.TextUtils;
 
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "character")
+@Entity(tableName = "character",
+        indices = {@Index("video_tmdb_id")})
 public class Character implements Parcelable {
 
     @PrimaryKey(autoGenerate = true)
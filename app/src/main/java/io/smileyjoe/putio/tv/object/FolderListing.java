@@ -0,0 +1,90 @@
+package io.smileyjoe.putio.tv.object;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Last known put.io listing for a folder, stored so the folder can be shown before the network responds.
+ * The files are stored as {@link FolderListingFile} rows so a big folder is never read back as a single value.
+ */
+@Entity(tableName = "folder_listing")
+public class FolderListing {
+
+    /**
+     * The files are still being written, a page may never arrive
+     */
+    public static final int FILE_COUNT_INCOMPLETE = -1;
+
+    @PrimaryKey
+    @ColumnInfo(name = "id_put_io")
+    private long mPutId;
+    @ColumnInfo(name = "file_count")
+    private int mFileCount;
+    @ColumnInfo(name = "updated_at")
+    private long mUpdatedAt;
+    @ColumnInfo(name = "cached_at")
+    private long mCachedAt;
+
+    /**
+     * Started when the first page is stored, {@link #FILE_COUNT_INCOMPLETE} until the last page is
+     *
+     * @param parent as mapped from put.io, null for virtual directories
+     */
+    public static FolderListing start(long putId, Video parent) {
+        FolderListing listing = new FolderListing();
+
+        listing.setPutId(putId);
+        listing.setFileCount(FILE_COUNT_INCOMPLETE);
+        listing.setUpdatedAt(parent == null ? 0 : parent.getUpdatedAt());
+        listing.setCachedAt(System.currentTimeMillis());
+
+        return listing;
+    }
+
+    public boolean isComplete() {
+        return mFileCount != FILE_COUNT_INCOMPLETE;
+    }
+
+    public long getPutId() {
+        return mPutId;
+    }
+
+    public int getFileCount() {
+        return mFileCount;
+    }
+
+    public long getUpdatedAt() {
+        return mUpdatedAt;
+    }
+
+    public long getCachedAt() {
+        return mCachedAt;
+    }
+
+    public void setPutId(long putId) {
+        mPutId = putId;
+    }
+
+    public void setFileCount(int fileCount) {
+        mFileCount = fileCount;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        mUpdatedAt = updatedAt;
+    }
+
+    public void setCachedAt(long cachedAt) {
+        mCachedAt = cachedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "FolderListing{" +
+                "mPutId=" + mPutId +
+                ", mFileCount=" + mFileCount +
+                ", mUpdatedAt=" + mUpdatedAt +
+                ", mCachedAt=" + mCachedAt +
+                '}';
+    }
+}
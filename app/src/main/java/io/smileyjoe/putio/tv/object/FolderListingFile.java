@@ -0,0 +1,306 @@
+package io.smileyjoe.putio.tv.object;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import io.smileyjoe.putio.tv.util.PutioListingReader;
+
+/**
+ * A file in a stored {@link FolderListing}, only the values mapped from put.io are kept.
+ * The folder itself is stored at {@link #POSITION_PARENT}.
+ */
+@Entity(tableName = "folder_listing_file",
+        primaryKeys = {"id_folder", "position"})
+public class FolderListingFile {
+
+    public static final int POSITION_PARENT = -1;
+
+    @ColumnInfo(name = "id_folder")
+    private long mFolderId;
+    @ColumnInfo(name = "position")
+    private int mPosition;
+    @ColumnInfo(name = "id_put_io")
+    private long mPutId;
+    @ColumnInfo(name = "id_parent_put_io")
+    private long mParentPutId;
+    @ColumnInfo(name = "name")
+    private String mName;
+    @ColumnInfo(name = "screenshot")
+    private String mScreenshot;
+    @ColumnInfo(name = "is_converted")
+    private boolean mIsConverted;
+    @ColumnInfo(name = "file_type")
+    private String mFileType;
+    @ColumnInfo(name = "stream_uri")
+    private String mStreamUri;
+    @ColumnInfo(name = "stream_mp4_uri")
+    private String mStreamMp4Uri;
+    @ColumnInfo(name = "size")
+    private long mSize;
+    @ColumnInfo(name = "created_at")
+    private long mCreatedAt;
+    @ColumnInfo(name = "updated_at")
+    private long mUpdatedAt;
+    @ColumnInfo(name = "resume_time")
+    private long mResumeTime;
+    @ColumnInfo(name = "is_watched")
+    private boolean mIsWatched;
+
+    /**
+     * @param video as mapped from put.io, before anything stored for it is merged in
+     */
+    public static FolderListingFile fromVideo(long folderId, int position, Video video) {
+        FolderListingFile file = new FolderListingFile();
+
+        file.setFolderId(folderId);
+        file.setPosition(position);
+        file.setPutId(video.getPutId());
+        file.setParentPutId(video.getParentPutId());
+        file.setName(video.getPutTitle());
+        file.setScreenshot(video.getBackdrop());
+        file.setConverted(video.isConverted());
+        file.setFileType(video.getFileType() == null ? null : video.getFileType().getPutValue());
+        file.setStreamUri(video.getStreamUri() == null ? null : video.getStreamUri().toString());
+        file.setStreamMp4Uri(video.getStreamMp4Uri() == null ? null : video.getStreamMp4Uri().toString());
+        file.setSize(video.getSize());
+        file.setCreatedAt(video.getCreatedAt());
+        file.setUpdatedAt(video.getUpdatedAt());
+        file.setResumeTime(video.getResumeTime());
+        file.setWatched(video.isWatched());
+
+        return file;
+    }
+
+    /**
+     * @param firstPosition position of the first video, later ones follow on from it
+     */
+    public static ArrayList<FolderListingFile> fromVideos(long folderId, int firstPosition, List<Video> videos) {
+        ArrayList<FolderListingFile> files = new ArrayList<>();
+
+        for (int i = 0; i < videos.size(); i++) {
+            files.add(fromVideo(folderId, firstPosition + i, videos.get(i)));
+        }
+
+        return files;
+    }
+
+    /**
+     * The rows a listing is stored as, parent first, in the order they are read back
+     */
+    public static ArrayList<FolderListingFile> fromListing(long folderId, PutioListingReader.Listing listing) {
+        ArrayList<FolderListingFile> files = new ArrayList<>();
+
+        if (listing.getParent() != null) {
+            files.add(fromVideo(folderId, POSITION_PARENT, listing.getParent()));
+        }
+
+        files.addAll(fromVideos(folderId, 0, listing.getFiles()));
+
+        return files;
+    }
+
+    public static PutioListingReader.Listing toListing(List<FolderListingFile> files) {
+        Video parent = null;
+        ArrayList<Video> videos = new ArrayList<>();
+
+        for (FolderListingFile file : files) {
+            if (file.isParent()) {
+                parent = file.toVideo();
+            } else {
+                videos.add(file.toVideo());
+            }
+        }
+
+        return new PutioListingReader.Listing(parent, videos);
+    }
+
+    /**
+     * The video the same as it was mapped from put.io
+     */
+    public Video toVideo() {
+        Video video = new Video();
+
+        video.setPutId(mPutId);
+        video.setParentPutId(mParentPutId);
+        video.setPutTitle(mName);
+        video.setTitle(mName);
+        video.setBackdrop(mScreenshot);
+        video.setPoster(mScreenshot);
+        video.setConverted(mIsConverted);
+        video.setFileType(mFileType);
+        video.setStreamUri(mStreamUri);
+        video.setStreamMp4Uri(mStreamMp4Uri);
+        video.setSize(mSize);
+        video.setCreatedAt(mCreatedAt);
+        video.setUpdatedAt(mUpdatedAt);
+        video.setResumeTime(mResumeTime);
+        video.setWatched(mIsWatched);
+
+        return video;
+    }
+
+    public boolean isParent() {
+        return mPosition == POSITION_PARENT;
+    }
+
+    public long getFolderId() {
+        return mFolderId;
+    }
+
+    public int getPosition() {
+        return mPosition;
+    }
+
+    public long getPutId() {
+        return mPutId;
+    }
+
+    public long getParentPutId() {
+        return mParentPutId;
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    public String getScreenshot() {
+        return mScreenshot;
+    }
+
+    public boolean isConverted() {
+        return mIsConverted;
+    }
+
+    public String getFileType() {
+        return mFileType;
+    }
+
+    public String getStreamUri() {
+        return mStreamUri;
+    }
+
+    public String getStreamMp4Uri() {
+        return mStreamMp4Uri;
+    }
+
+    public long getSize() {
+        return mSize;
+    }
+
+    public long getCreatedAt() {
+        return mCreatedAt;
+    }
+
+    public long getUpdatedAt() {
+        return mUpdatedAt;
+    }
+
+    public long getResumeTime() {
+        return mResumeTime;
+    }
+
+    public boolean isWatched() {
+        return mIsWatched;
+    }
+
+    public void setFolderId(long folderId) {
+        mFolderId = folderId;
+    }
+
+    public void setPosition(int position) {
+        mPosition = position;
+    }
+
+    public void setPutId(long putId) {
+        mPutId = putId;
+    }
+
+    public void setParentPutId(long parentPutId) {
+        mParentPutId = parentPutId;
+    }
+
+    public void setName(String name) {
+        mName = name;
+    }
+
+    public void setScreenshot(String screenshot) {
+        mScreenshot = screenshot;
+    }
+
+    public void setConverted(boolean converted) {
+        mIsConverted = converted;
+    }
+
+    public void setFileType(String fileType) {
+        mFileType = fileType;
+    }
+
+    public void setStreamUri(String streamUri) {
+        mStreamUri = streamUri;
+    }
+
+    public void setStreamMp4Uri(String streamMp4Uri) {
+        mStreamMp4Uri = streamMp4Uri;
+    }
+
+    public void setSize(long size) {
+        mSize = size;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        mCreatedAt = createdAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        mUpdatedAt = updatedAt;
+    }
+
+    public void setResumeTime(long resumeTime) {
+        mResumeTime = resumeTime;
+    }
+
+    public void setWatched(boolean watched) {
+        mIsWatched = watched;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FolderListingFile that = (FolderListingFile) o;
+        return mFolderId == that.mFolderId
+                && mPosition == that.mPosition
+                && mPutId == that.mPutId
+                && mParentPutId == that.mParentPutId
+                && mIsConverted == that.mIsConverted
+                && mSize == that.mSize
+                && mCreatedAt == that.mCreatedAt
+                && mUpdatedAt == that.mUpdatedAt
+                && mResumeTime == that.mResumeTime
+                && mIsWatched == that.mIsWatched
+                && Objects.equals(mName, that.mName)
+                && Objects.equals(mScreenshot, that.mScreenshot)
+                && Objects.equals(mFileType, that.mFileType)
+                && Objects.equals(mStreamUri, that.mStreamUri)
+                && Objects.equals(mStreamMp4Uri, that.mStreamMp4Uri);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mFolderId, mPosition, mPutId, mUpdatedAt);
+    }
+
+    @Override
+    public String toString() {
+        return "FolderListingFile{" +
+                "mFolderId=" + mFolderId +
+                ", mPosition=" + mPosition +
+                ", mPutId=" + mPutId +
+                ", mName='" + mName + '\'' +
+                '}';
+    }
+}
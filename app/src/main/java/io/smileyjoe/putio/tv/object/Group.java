@@ -3,25 +3,20 @@ package io.smileyjoe.putio.tv.object;
 import android.content.Context;
 import android.os.Parcel;
 import android.os.Parcelable;
-import android.text.TextUtils;
 
 import androidx.annotation.DrawableRes;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
-import java.lang.reflect.Type;
-import java.util.ArrayList;
-
 import io.smileyjoe.putio.tv.R;
 import io.smileyjoe.putio.tv.interfaces.Folder;
 import io.smileyjoe.putio.tv.interfaces.ToggleItem;
 
-@Entity(tableName = "group")
+@Entity(tableName = "group",
+        indices = {@Index("group_type_id")})
 public class Group implements ToggleItem, Folder, Parcelable {
 
     public static int DEFAULT_ID_MOVIES = 1;
@@ -34,13 +29,9 @@ public class Group implements ToggleItem, Folder, Parcelable {
     private int mId;
     @ColumnInfo(name = "title")
     private String mTitle;
-    @ColumnInfo(name = "put_ids_json")
-    private String mPutIdsJson;
     @ColumnInfo(name = "use_parent")
     private boolean mUseParent;
     @Ignore
-    private ArrayList<Long> mPutIds;
-    @Ignore
     private boolean mIsSelected;
     @Ignore
     private GroupType mType;
@@ -66,14 +57,6 @@ public class Group implements ToggleItem, Folder, Parcelable {
         return mTitle;
     }
 
-    public ArrayList<Long> getPutIds() {
-        return mPutIds;
-    }
-
-    public String getPutIdsJson() {
-        return mPutIdsJson;
-    }
-
     public int getTypeId() {
         return mTypeId;
     }
@@ -122,49 +105,6 @@ public class Group implements ToggleItem, Folder, Parcelable {
         mTitle = title;
     }
 
-    public void setPutIds(ArrayList<Long> putIds) {
-        mPutIds = putIds;
-
-        if (TextUtils.isEmpty(mPutIdsJson)) {
-            setPutIdsJson();
-        }
-    }
-
-    public void addPutId(Long putId) {
-        if (mPutIds == null) {
-            mPutIds = new ArrayList<>();
-        }
-
-        mPutIds.add(putId);
-
-        setPutIdsJson();
-    }
-
-    public void removePutId(Long putId) {
-        if (mPutIds != null && mPutIds.contains(putId)) {
-            mPutIds.remove(mPutIds.indexOf(putId));
-        }
-        setPutIdsJson();
-    }
-
-    private void setPutIdsJson() {
-        Gson gson = new Gson();
-        Type type = new TypeToken<ArrayList<Integer>>() {
-        }.getType();
-        setPutIdsJson(gson.toJson(mPutIds, type));
-    }
-
-    public void setPutIdsJson(String putIdsJson) {
-        mPutIdsJson = putIdsJson;
-
-        if (mPutIds == null || mPutIds.isEmpty()) {
-            Gson gson = new Gson();
-            Type type = new TypeToken<ArrayList<Long>>() {
-            }.getType();
-            setPutIds(gson.fromJson(putIdsJson, type));
-        }
-    }
-
     public void setType(GroupType type) {
         mType = type;
 
@@ -215,9 +155,7 @@ public class Group implements ToggleItem, Folder, Parcelable {
         return "Group{" +
                 "mId=" + mId +
                 ", mTitle='" + mTitle + '\'' +
-                ", mPutIdsJson='" + mPutIdsJson + '\'' +
                 ", mUseParent=" + mUseParent +
-                ", mPutIds=" + mPutIds +
                 ", mIsSelected=" + mIsSelected +
                 ", mType=" + mType +
                 ", mTypeId=" + mTypeId +
@@ -234,9 +172,7 @@ public class Group implements ToggleItem, Folder, Parcelable {
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeInt(this.mId);
         dest.writeString(this.mTitle);
-        dest.writeString(this.mPutIdsJson);
         dest.writeByte(this.mUseParent ? (byte) 1 : (byte) 0);
-        dest.writeList(this.mPutIds);
         dest.writeByte(this.mIsSelected ? (byte) 1 : (byte) 0);
         dest.writeInt(this.mType == null ? -1 : this.mType.ordinal());
         dest.writeInt(this.mTypeId);
@@ -246,10 +182,7 @@ public class Group implements ToggleItem, Folder, Parcelable {
     protected Group(Parcel in) {
         this.mId = in.readInt();
         this.mTitle = in.readString();
-        this.mPutIdsJson = in.readString();
         this.mUseParent = in.readByte() != 0;
-        this.mPutIds = new ArrayList<Long>();
-        in.readList(this.mPutIds, Long.class.getClassLoader());
         this.mIsSelected = in.readByte() != 0;
         int tmpMType = in.readInt();
         this.mType = tmpMType == -1 ? null : GroupType.values()[tmpMType];
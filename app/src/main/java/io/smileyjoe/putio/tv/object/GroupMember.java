@@ -0,0 +1,87 @@
+package io.smileyjoe.putio.tv.object;
+
+import android.text.TextUtils;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A folder in a {@link Group}, position is the order it was added in.
+ */
+@Entity(tableName = "group_member",
+        primaryKeys = {"group_id", "put_id"},
+        indices = {@Index("put_id")})
+public class GroupMember {
+
+    @ColumnInfo(name = "group_id")
+    private int mGroupId;
+    @ColumnInfo(name = "put_id")
+    private long mPutId;
+    @ColumnInfo(name = "position")
+    private int mPosition;
+
+    public static ArrayList<GroupMember> fromPutIds(int groupId, List<Long> putIds) {
+        ArrayList<GroupMember> members = new ArrayList<>();
+
+        for (int i = 0; i < putIds.size(); i++) {
+            GroupMember member = new GroupMember();
+            member.setGroupId(groupId);
+            member.setPutId(putIds.get(i));
+            member.setPosition(i);
+            members.add(member);
+        }
+
+        return members;
+    }
+
+    /**
+     * Put ids in the json list format groups used to be stored and backed up in
+     */
+    public static ArrayList<Long> fromJson(String putIdsJson) {
+        if (TextUtils.isEmpty(putIdsJson)) {
+            return new ArrayList<>();
+        }
+
+        Type type = new TypeToken<ArrayList<Long>>() {
+        }.getType();
+        ArrayList<Long> putIds = new Gson().fromJson(putIdsJson, type);
+
+        return putIds == null ? new ArrayList<>() : putIds;
+    }
+
+    public static String toJson(List<Long> putIds) {
+        return new Gson().toJson(putIds);
+    }
+
+    public int getGroupId() {
+        return mGroupId;
+    }
+
+    public long getPutId() {
+        return mPutId;
+    }
+
+    public int getPosition() {
+        return mPosition;
+    }
+
+    public void setGroupId(int groupId) {
+        mGroupId = groupId;
+    }
+
+    public void setPutId(long putId) {
+        mPutId = putId;
+    }
+
+    public void setPosition(int position) {
+        mPosition = position;
+    }
+}
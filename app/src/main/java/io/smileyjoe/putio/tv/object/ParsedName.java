@@ -0,0 +1,193 @@
+package io.smileyjoe.putio.tv.object;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.PrimaryKey;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * What the release name parser found in a put.io filename, stored so the same name is only ever parsed once.
+ */
+@Entity(tableName = "parsed_name")
+public class ParsedName {
+
+    @NonNull
+    @PrimaryKey
+    @ColumnInfo(name = "filename_hash")
+    private String mFilenameHash = "";
+    @ColumnInfo(name = "title")
+    private String mTitle;
+    @ColumnInfo(name = "video_type")
+    private String mVideoType;
+    @ColumnInfo(name = "year")
+    private Integer mYear;
+    @ColumnInfo(name = "season")
+    private Integer mSeason;
+    @ColumnInfo(name = "episode")
+    private Integer mEpisode;
+    @ColumnInfo(name = "candidates_json")
+    private String mCandidatesJson;
+    @ColumnInfo(name = "parsed_at")
+    private long mParsedAt;
+    @ColumnInfo(name = "parser_version")
+    private int mParserVersion;
+    @Ignore
+    private ArrayList<String> mCandidates;
+
+    public static ParsedName fromParse(String filenameHash, int parserVersion, HashMap<String, String> details, List<String> candidates) {
+        ParsedName parsed = new ParsedName();
+
+        parsed.setFilenameHash(filenameHash);
+        parsed.setTitle(details.get("title"));
+
+        // later checks win, same as the order they used to be applied to the video //
+        if (Boolean.parseBoolean(details.get("is_season"))) {
+            parsed.setVideoType(VideoType.SEASON.name());
+        } else if (Boolean.parseBoolean(details.get("is_episode"))) {
+            parsed.setVideoType(VideoType.EPISODE.name());
+        } else if (Boolean.parseBoolean(details.get("is_movie"))) {
+            parsed.setVideoType(VideoType.MOVIE.name());
+        }
+
+        parsed.setYear(getInteger(details, "year"));
+        parsed.setSeason(getInteger(details, "season"));
+        parsed.setEpisode(getInteger(details, "episode"));
+        parsed.setCandidates(new ArrayList<>(candidates));
+        parsed.setParsedAt(System.currentTimeMillis());
+        parsed.setParserVersion(parserVersion);
+
+        return parsed;
+    }
+
+    private static Integer getInteger(HashMap<String, String> details, String key) {
+        if (details.containsKey(key)) {
+            return Integer.parseInt(details.get(key));
+        }
+
+        return null;
+    }
+
+    @NonNull
+    public String getFilenameHash() {
+        return mFilenameHash;
+    }
+
+    public String getTitle() {
+        return mTitle;
+    }
+
+    public String getVideoType() {
+        return mVideoType;
+    }
+
+    public VideoType getVideoTypeAsEnum() {
+        if (mVideoType == null) {
+            return null;
+        }
+
+        try {
+            return VideoType.valueOf(mVideoType);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public Integer getYear() {
+        return mYear;
+    }
+
+    public Integer getSeason() {
+        return mSeason;
+    }
+
+    public Integer getEpisode() {
+        return mEpisode;
+    }
+
+    public String getCandidatesJson() {
+        return mCandidatesJson;
+    }
+
+    public ArrayList<String> getCandidates() {
+        return mCandidates;
+    }
+
+    public long getParsedAt() {
+        return mParsedAt;
+    }
+
+    public int getParserVersion() {
+        return mParserVersion;
+    }
+
+    public void setFilenameHash(@NonNull String filenameHash) {
+        mFilenameHash = filenameHash;
+    }
+
+    public void setTitle(String title) {
+        mTitle = title;
+    }
+
+    public void setVideoType(String videoType) {
+        mVideoType = videoType;
+    }
+
+    public void setYear(Integer year) {
+        mYear = year;
+    }
+
+    public void setSeason(Integer season) {
+        mSeason = season;
+    }
+
+    public void setEpisode(Integer episode) {
+        mEpisode = episode;
+    }
+
+    public void setCandidatesJson(String candidatesJson) {
+        mCandidatesJson = candidatesJson;
+
+        if (candidatesJson != null) {
+            Type type = new TypeToken<ArrayList<String>>() {
+            }.getType();
+            mCandidates = new Gson().fromJson(candidatesJson, type);
+        }
+    }
+
+    public void setCandidates(ArrayList<String> candidates) {
+        mCandidates = candidates;
+
+        Type type = new TypeToken<ArrayList<String>>() {
+        }.getType();
+        mCandidatesJson = new Gson().toJson(candidates, type);
+    }
+
+    public void setParsedAt(long parsedAt) {
+        mParsedAt = parsedAt;
+    }
+
+    public void setParserVersion(int parserVersion) {
+        mParserVersion = parserVersion;
+    }
+
+    @Override
+    public String toString() {
+        return "ParsedName{" +
+                "mFilenameHash='" + mFilenameHash + '\'' +
+                ", mTitle='" + mTitle + '\'' +
+                ", mVideoType='" + mVideoType + '\'' +
+                ", mYear=" + mYear +
+                ", mSeason=" + mSeason +
+                ", mEpisode=" + mEpisode +
+                '}';
+    }
+}
@@ -31,6 +31,14 @@ public class TmdbCache {
     @ColumnInfo(name = "timestamp")
     private long mTimestamp;
 
+    // no good match was found, tmdb_id is not set //
+    @ColumnInfo(name = "is_negative")
+    private boolean mIsNegative;
+
+    // a negative entry is trusted until then, after that the search runs again //
+    @ColumnInfo(name = "retry_after")
+    private long mRetryAfter;
+
     public int getId() {
         return mId;
     }
@@ -86,4 +94,20 @@ public class TmdbCache {
     public void setTimestamp(long timestamp) {
         mTimestamp = timestamp;
     }
+
+    public boolean isNegative() {
+        return mIsNegative;
+    }
+
+    public void setNegative(boolean negative) {
+        mIsNegative = negative;
+    }
+
+    public long getRetryAfter() {
+        return mRetryAfter;
+    }
+
+    public void setRetryAfter(long retryAfter) {
+        mRetryAfter = retryAfter;
+    }
 }
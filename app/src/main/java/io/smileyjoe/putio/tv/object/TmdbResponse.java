@@ -0,0 +1,119 @@
+package io.smileyjoe.putio.tv.object;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+/**
+ * Raw TMDB detail response, stored so details don't have to be downloaded again after a refresh.
+ */
+@Entity(tableName = "tmdb_response")
+public class TmdbResponse {
+
+    @NonNull
+    @PrimaryKey
+    @ColumnInfo(name = "cache_key")
+    private String mCacheKey = "";
+    @ColumnInfo(name = "payload")
+    private String mPayload;
+    @ColumnInfo(name = "etag")
+    private String mEtag;
+    @ColumnInfo(name = "size")
+    private long mSize;
+    // when TMDB last confirmed the payload //
+    @ColumnInfo(name = "fetched_at")
+    private long mFetchedAt;
+    @ColumnInfo(name = "accessed_at")
+    private long mAccessedAt;
+
+    /**
+     * @param type movie, tv or tv_season
+     * @param season only for a season or an episode, otherwise 0
+     */
+    public static String getKey(String type, long tmdbId, int season, int episode) {
+        return getKeyPrefix(type, tmdbId) + season + "/" + episode;
+    }
+
+    /**
+     * The start of every key for the id, whatever the season or episode
+     */
+    public static String getKeyPrefix(String type, long tmdbId) {
+        return type + "/" + tmdbId + "/";
+    }
+
+    public static TmdbResponse fromApi(String cacheKey, String payload, String etag) {
+        long now = System.currentTimeMillis();
+        TmdbResponse response = new TmdbResponse();
+
+        response.setCacheKey(cacheKey);
+        response.setPayload(payload);
+        response.setEtag(etag);
+        response.setSize(payload == null ? 0 : payload.length());
+        response.setFetchedAt(now);
+        response.setAccessedAt(now);
+
+        return response;
+    }
+
+    public JsonObject getPayloadAsJson() {
+        try {
+            return new Gson().fromJson(mPayload, JsonObject.class);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    @NonNull
+    public String getCacheKey() {
+        return mCacheKey;
+    }
+
+    public String getPayload() {
+        return mPayload;
+    }
+
+    public String getEtag() {
+        return mEtag;
+    }
+
+    public long getSize() {
+        return mSize;
+    }
+
+    public long getFetchedAt() {
+        return mFetchedAt;
+    }
+
+    public long getAccessedAt() {
+        return mAccessedAt;
+    }
+
+    public void setCacheKey(@NonNull String cacheKey) {
+        mCacheKey = cacheKey;
+    }
+
+    public void setPayload(String payload) {
+        mPayload = payload;
+    }
+
+    public void setEtag(String etag) {
+        mEtag = etag;
+    }
+
+    public void setSize(long size) {
+        mSize = size;
+    }
+
+    public void setFetchedAt(long fetchedAt) {
+        mFetchedAt = fetchedAt;
+    }
+
+    public void setAccessedAt(long accessedAt) {
+        mAccessedAt = accessedAt;
+    }
+}
@@ -9,6 +9,7 @@ import android.text.TextUtils;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.room.TypeConverters;
 
@@ -20,11 +21,13 @@ import java.util.ArrayList;
 import java.util.Objects;
 
 import io.smileyjoe.putio.tv.R;
+import io.smileyjoe.putio.tv.comparator.VideoComparator;
 import io.smileyjoe.putio.tv.db.converter.VideoTypeConverter;
 import io.smileyjoe.putio.tv.util.TimeUtil;
 import io.smileyjoe.putio.tv.util.VideoUtil;
 
-@Entity(tableName = "video")
+@Entity(tableName = "video",
+        indices = {@Index("id_tmdb")})
 public class Video implements Parcelable {
 
     // ids
@@ -35,6 +38,8 @@ public class Video implements Parcelable {
     private long mTmdbId;
     @Ignore
     private long mParentTmdbId;
+    @Ignore
+    private long mParentPutId;
     // general
     @ColumnInfo(name = "video_type")
     @TypeConverters(VideoTypeConverter.class)
@@ -97,6 +102,9 @@ public class Video implements Parcelable {
     private String mPutTitle;
     @Ignore
     private boolean mIsConverting;
+    // worked out again when the put title changes //
+    @Ignore
+    private VideoComparator.SortKey mSortKey;
 
     public Video() {
         mVideoType = VideoType.UNKNOWN;
@@ -107,6 +115,7 @@ public class Video implements Parcelable {
         this.mPutId = video.getPutId();
         this.mTmdbId = video.getTmdbId();
         this.mParentTmdbId = video.getParentTmdbId();
+        this.mParentPutId = video.getParentPutId();
         this.mVideoType = video.getVideoType();
         this.mFileType = video.getFileType();
         this.mTitle = video.getTitle();
@@ -315,6 +324,10 @@ public class Video implements Parcelable {
         mParentTmdbId = parentTmdbId;
     }
 
+    public void setParentPutId(long parentPutId) {
+        mParentPutId = parentPutId;
+    }
+
     public String getYoutubeTrailerKey() {
         return mYoutubeTrailerKey;
     }
@@ -515,10 +528,32 @@ public class Video implements Parcelable {
         return mIsConverting;
     }
 
+    /**
+     * Alphabetical sort key of the put title, see {@link VideoComparator.SortKey}
+     */
+    public byte[] getSortKey() {
+        String title = mPutTitle;
+        VideoComparator.SortKey sortKey = mSortKey;
+
+        if (sortKey == null || !sortKey.isFor(title)) {
+            sortKey = new VideoComparator.SortKey(title);
+            mSortKey = sortKey;
+        }
+
+        return sortKey.getKey();
+    }
+
     public long getParentTmdbId() {
         return mParentTmdbId;
     }
 
+    /**
+     * The put.io folder the file is in
+     */
+    public long getParentPutId() {
+        return mParentPutId;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -532,6 +567,21 @@ public class Video implements Parcelable {
         return Objects.hash(mPutId);
     }
 
+    /**
+     * A separate instance to change off the main thread, the original may be on screen
+     */
+    public Video copy() {
+        Parcel parcel = Parcel.obtain();
+
+        try {
+            writeToParcel(parcel, 0);
+            parcel.setDataPosition(0);
+            return CREATOR.createFromParcel(parcel);
+        } finally {
+            parcel.recycle();
+        }
+    }
+
     @Override
     public int describeContents() {
         return 0;
@@ -542,6 +592,7 @@ public class Video implements Parcelable {
         dest.writeLong(this.mPutId);
         dest.writeLong(this.mTmdbId);
         dest.writeLong(this.mParentTmdbId);
+        dest.writeLong(this.mParentPutId);
         dest.writeInt(this.mVideoType == null ? -1 : this.mVideoType.ordinal());
         dest.writeInt(this.mFileType == null ? -1 : this.mFileType.ordinal());
         dest.writeString(this.mTitle);
@@ -577,6 +628,7 @@ public class Video implements Parcelable {
         this.mPutId = in.readLong();
         this.mTmdbId = in.readLong();
         this.mParentTmdbId = in.readLong();
+        this.mParentPutId = in.readLong();
         int tmpMVideoType = in.readInt();
         this.mVideoType = tmpMVideoType == -1 ? null : VideoType.values()[tmpMVideoType];
         int tmpMFileType = in.readInt();
@@ -629,6 +681,7 @@ public class Video implements Parcelable {
                 "mPutId=" + mPutId +
                 ", mTmdbId=" + mTmdbId +
                 ", mParentTmdbId=" + mParentTmdbId +
+                ", mParentPutId=" + mParentPutId +
                 ", mVideoType=" + mVideoType +
                 ", mFileType=" + mFileType +
                 ", mTitle='" + mTitle + '\'' +
@@ -1,78 +1,77 @@
 package io.smileyjoe.putio.tv.torrent;
 
-import android.text.TextUtils;
+import android.content.Context;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import io.smileyjoe.putio.tv.object.ParsedName;
 import io.smileyjoe.putio.tv.object.Video;
 import io.smileyjoe.putio.tv.object.VideoType;
 
 public class Parse {
 
-    public static HashMap<String, String> PATTERNS = new HashMap<>();
+    // compiled once and checked in declaration order so the same title always parses the same way //
+    private static final LinkedHashMap<String, Pattern> PATTERNS = new LinkedHashMap<>();
+    private static final Pattern NON_DIGIT = Pattern.compile("[^\\d]");
 
     static {
-        PATTERNS.put("season", "([Ss]([0-9]{1,2}))");
-        PATTERNS.put("episode", "([Eex]([0-9]{2})(?:[^0-9]|$))");
-        PATTERNS.put("year", "([\\[\\(]?((?:19[0-9]|20[0-9])[0-9])[\\]\\)]?)");
-        PATTERNS.put("resolution", "([0-9]{3,4}p)");
-        PATTERNS.put("quality", "((?:PPV\\.)?[HP]DTV|(?:HD)?CAM|B[DR]Rip|(?:HD-?)?TS|(?:PPV )?WEB-?DL(?: DVDRip)?|HDRip|DVDRip|DVDRIP|CamRip|W[EB]BRip|BluRay|DvDScr|hdtv|telesync)");
-        PATTERNS.put("codec", "(xvid|[HhXx]\\.?26[45])");
-        PATTERNS.put("audio", "(MP3|DD5\\.?1|Dual[\\- ]Audio|LiNE|DTS|AAC[.-]LC|AAC(?:\\.?2\\.0)?|AC3(?:\\.5\\.1)?)");
-        PATTERNS.put("group", "(- ?([^-]+(?:-=\\{[^-]+-?$)?))$");
-        PATTERNS.put("region", "R[0-9]");
-        PATTERNS.put("extended", "(EXTENDED(:?.CUT)?)");
-        PATTERNS.put("hardcoded", "HC");
-        PATTERNS.put("proper", "PROPER");
-        PATTERNS.put("repack", "REPACK");
-        PATTERNS.put("container", "(MKV|AVI|MP4)");
-        PATTERNS.put("widescreen", "WS");
-        PATTERNS.put("website", "^(\\[ ?([^\\]]+?) ?\\])");
-        PATTERNS.put("language", "(rus\\.eng|ita\\.eng)");
-        PATTERNS.put("sbs", "(?:Half-)?SBS");
-        PATTERNS.put("unrated", "UNRATED");
-        PATTERNS.put("size", "(\\d+(?:\\.\\d+)?(?:GB|MB))");
-        PATTERNS.put("3d", "3D");
+        add("season", "([Ss]([0-9]{1,2}))");
+        add("episode", "([Eex]([0-9]{2})(?:[^0-9]|$))");
+        add("year", "([\\[\\(]?((?:19[0-9]|20[0-9])[0-9])[\\]\\)]?)");
+        add("resolution", "([0-9]{3,4}p)");
+        add("quality", "((?:PPV\\.)?[HP]DTV|(?:HD)?CAM|B[DR]Rip|(?:HD-?)?TS|(?:PPV )?WEB-?DL(?: DVDRip)?|HDRip|DVDRip|DVDRIP|CamRip|W[EB]BRip|BluRay|DvDScr|hdtv|telesync)");
+        add("codec", "(xvid|[HhXx]\\.?26[45])");
+        add("audio", "(MP3|DD5\\.?1|Dual[\\- ]Audio|LiNE|DTS|AAC[.-]LC|AAC(?:\\.?2\\.0)?|AC3(?:\\.5\\.1)?)");
+        add("group", "(- ?([^-]+(?:-=\\{[^-]+-?$)?))$");
+        add("region", "R[0-9]");
+        add("extended", "(EXTENDED(:?.CUT)?)");
+        add("hardcoded", "HC");
+        add("proper", "PROPER");
+        add("repack", "REPACK");
+        add("container", "(MKV|AVI|MP4)");
+        add("widescreen", "WS");
+        add("website", "^(\\[ ?([^\\]]+?) ?\\])");
+        add("language", "(rus\\.eng|ita\\.eng)");
+        add("sbs", "(?:Half-)?SBS");
+        add("unrated", "UNRATED");
+        add("size", "(\\d+(?:\\.\\d+)?(?:GB|MB))");
+        add("3d", "3D");
     }
 
-    public static Video update(Video video) {
-        HashMap<String, String> details = Parse.parse(video.getPutTitle());
+    private static void add(String key, String regex) {
+        PATTERNS.put(key, Pattern.compile(regex));
+    }
 
+    /**
+     * Apply the parsed release name to a video that has no TMDB details yet,
+     * see {@link ParsedNameCache} for how parsing is memoized
+     */
+    public static Video update(Context context, Video video) {
         if (!video.isTmdbFound()) {
-            video.setTitle(details.get("title"));
+            ParsedName parsed = ParsedNameCache.getInstance().get(context, video.getPutTitle());
 
-            if (details.containsKey("is_movie")) {
-                if (Boolean.parseBoolean(details.get("is_movie"))) {
-                    video.setVideoType(VideoType.MOVIE);
-                }
-            }
+            video.setTitle(parsed.getTitle());
 
-            if (details.containsKey("is_episode")) {
-                if (Boolean.parseBoolean(details.get("is_episode"))) {
-                    video.setVideoType(VideoType.EPISODE);
-                }
-            }
-
-            if (details.containsKey("is_season")) {
-                if (Boolean.parseBoolean(details.get("is_season"))) {
-                    video.setVideoType(VideoType.SEASON);
-                }
+            VideoType videoType = parsed.getVideoTypeAsEnum();
+            if (videoType != null) {
+                video.setVideoType(videoType);
             }
 
-            if (details.containsKey("year")) {
-                video.setYear(Integer.parseInt(details.get("year")));
+            if (parsed.getYear() != null) {
+                video.setYear(parsed.getYear());
             }
 
-            if (details.containsKey("season")) {
-                video.setSeason(Integer.parseInt(details.get("season")));
+            if (parsed.getSeason() != null) {
+                video.setSeason(parsed.getSeason());
             }
 
-            if (details.containsKey("episode")) {
-                video.setEpisode(Integer.parseInt(details.get("episode")));
+            if (parsed.getEpisode() != null) {
+                video.setEpisode(parsed.getEpisode());
             }
         }
 
@@ -80,7 +79,8 @@ public class Parse {
     }
 
     public static HashMap<String, String> parse(String rawTitle) {
-        if (TextUtils.isEmpty(rawTitle)) {
+        // not TextUtils so parsing runs on a plain JVM //
+        if (rawTitle == null || rawTitle.isEmpty()) {
             return new HashMap<>();
         }
 
@@ -89,11 +89,10 @@ public class Parse {
         int titleStart = 0;
         int titleEnd = rawTitle.length();
 
-        for (Map.Entry<String, String> entry : PATTERNS.entrySet()) {
+        for (Map.Entry<String, Pattern> entry : PATTERNS.entrySet()) {
             String key = entry.getKey();
-            String pattern = entry.getValue();
 
-            Matcher matcher = Pattern.compile(pattern).matcher(rawTitle);
+            Matcher matcher = entry.getValue().matcher(rawTitle);
 
             while (matcher.find()) {
                 int matchIndex = 0;
@@ -110,7 +109,7 @@ public class Parse {
                     case "season":
                     case "episode":
                     case "year":
-                        match = String.valueOf(Integer.parseInt(match.replaceAll("[^\\d]", "")));
+                        match = String.valueOf(Integer.parseInt(NON_DIGIT.matcher(match).replaceAll("")));
                         break;
                 }
 
@@ -0,0 +1,146 @@
+package io.smileyjoe.putio.tv.torrent;
+
+import android.content.Context;
+import android.text.TextUtils;
+import android.util.LruCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.smileyjoe.putio.tv.db.AppDatabase;
+import io.smileyjoe.putio.tv.object.ParsedName;
+import io.smileyjoe.putio.tv.util.TmdbMatcher;
+
+/**
+ * Memo of parsed release names keyed by the MD5 of the filename.
+ * Recently used names are held in memory in front of the parsed_name table,
+ * so a folder that has been seen before needs no regex work at all.
+ */
+public class ParsedNameCache {
+
+    /**
+     * Bump whenever the {@link Parse} rules or candidate generation change, names stored by an
+     * older version are parsed again
+     */
+    public static final int PARSER_VERSION = 1;
+
+    private static final int MAX_ENTRIES = 2000;
+    // SQLite allows 999 bound arguments per statement on older devices //
+    private static final int MAX_QUERY_ARGS = 900;
+    private static final long MAX_AGE = TimeUnit.DAYS.toMillis(90);
+
+    private static volatile ParsedNameCache sInstance;
+
+    private final LruCache<String, ParsedName> mEntries = new LruCache<>(MAX_ENTRIES);
+
+    public static ParsedNameCache getInstance() {
+        if (sInstance == null) {
+            synchronized (ParsedNameCache.class) {
+                if (sInstance == null) {
+                    sInstance = new ParsedNameCache();
+                }
+            }
+        }
+
+        return sInstance;
+    }
+
+    private ParsedNameCache() {
+    }
+
+    /**
+     * Parsed details for the filename, from memory, then the database, parsing it only if neither has it.
+     * Must not be called on the main thread.
+     */
+    public ParsedName get(Context context, String filename) {
+        if (TextUtils.isEmpty(filename)) {
+            return parse(null, filename);
+        }
+
+        String key = TmdbMatcher.getCacheKey(filename);
+        ParsedName parsed = mEntries.get(key);
+
+        if (parsed == null) {
+            parsed = AppDatabase.getInstance(context).parsedNameDao().get(key, PARSER_VERSION);
+
+            if (parsed == null) {
+                parsed = parse(key, filename);
+                AppDatabase.getInstance(context).parsedNameDao().insert(parsed);
+            }
+
+            mEntries.put(key, parsed);
+        }
+
+        return parsed;
+    }
+
+    /**
+     * Load every filename in a listing in bulk, names that have never been seen are parsed and stored together.
+     * Must not be called on the main thread.
+     */
+    public void prefetch(Context context, Collection<String> filenames) {
+        LinkedHashMap<String, String> missing = new LinkedHashMap<>();
+
+        for (String filename : filenames) {
+            if (!TextUtils.isEmpty(filename)) {
+                String key = TmdbMatcher.getCacheKey(filename);
+
+                if (mEntries.get(key) == null) {
+                    missing.put(key, filename);
+                }
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        AppDatabase db = AppDatabase.getInstance(context);
+        List<String> keys = new ArrayList<>(missing.keySet());
+
+        for (int i = 0; i < keys.size(); i += MAX_QUERY_ARGS) {
+            for (ParsedName parsed : db.parsedNameDao().getByHashes(keys.subList(i, Math.min(i + MAX_QUERY_ARGS, keys.size())), PARSER_VERSION)) {
+                mEntries.put(parsed.getFilenameHash(), parsed);
+                missing.remove(parsed.getFilenameHash());
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        ArrayList<ParsedName> parsedNames = new ArrayList<>();
+
+        for (Map.Entry<String, String> entry : missing.entrySet()) {
+            ParsedName parsed = parse(entry.getKey(), entry.getValue());
+            mEntries.put(entry.getKey(), parsed);
+            parsedNames.add(parsed);
+        }
+
+        db.parsedNameDao().insert(parsedNames);
+    }
+
+    /**
+     * Drop stored names that are old or from an older parser.
+     * Must not be called on the main thread.
+     */
+    public static void sweep(Context context) {
+        AppDatabase.getInstance(context).parsedNameDao().deleteStale(System.currentTimeMillis() - MAX_AGE, PARSER_VERSION);
+    }
+
+    public void clear() {
+        mEntries.evictAll();
+    }
+
+    private ParsedName parse(String key, String filename) {
+        HashMap<String, String> details = Parse.parse(filename);
+        String title = details.get("title");
+
+        return ParsedName.fromParse(key == null ? "" : key, PARSER_VERSION, details, TmdbMatcher.generateCandidates(title));
+    }
+}
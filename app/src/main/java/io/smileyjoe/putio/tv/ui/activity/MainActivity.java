@@ -22,6 +22,7 @@ import io.smileyjoe.putio.tv.broadcast.LoadVideoReceiver;
 import io.smileyjoe.putio.tv.channel.UriHandler;
 import io.smileyjoe.putio.tv.databinding.ActivityMainBinding;
 import io.smileyjoe.putio.tv.db.AppDatabase;
+import io.smileyjoe.putio.tv.db.GroupMemberDao;
 import io.smileyjoe.putio.tv.interfaces.Folder;
 import io.smileyjoe.putio.tv.interfaces.HomeFragmentListener;
 import io.smileyjoe.putio.tv.network.Tmdb;
@@ -221,6 +222,21 @@ public class MainActivity extends BaseActivity<ActivityMainBinding> implements L
         }
     }
 
+    @Override
+    public void videoLoadAppended(HistoryItem historyItem, ArrayList<Video> videos, ArrayList<Folder> folders) {
+        if (!mVideoLoader.isCurrent(historyItem)) {
+            return;
+        }
+
+        mFragmentFolderList.addFolders(folders);
+
+        if (videos != null && !videos.isEmpty()) {
+            mFragmentVideoList.addVideos(videos);
+            handleGenres(mFragmentVideoList.getAllVideos());
+            mFragmentFilter.show();
+        }
+    }
+
     @Override
     public void update(Video video) {
         mFragmentVideoList.update(video);
@@ -438,15 +454,18 @@ public class MainActivity extends BaseActivity<ActivityMainBinding> implements L
     private class GroupListener extends HomeListener<Group> implements ToggleFragment.Listener<Group> {
         @Override
         public void onItemClicked(View view, Group group, boolean isSelected) {
+            long putId = mVideoLoader.getCurrentHistory().getId();
+
             Async.run(() -> {
+                GroupMemberDao groupMemberDao = AppDatabase.getInstance(getBaseContext()).groupMemberDao();
+
                 if (isSelected) {
-                    group.addPutId(mVideoLoader.getCurrentHistory().getId());
+                    groupMemberDao.add(group.getId(), putId);
                 } else {
-                    group.removePutId(mVideoLoader.getCurrentHistory().getId());
+                    groupMemberDao.remove(group.getId(), putId);
                 }
 
-                Settings.getInstance(getContext()).saveGroupPutIds(getContext(), group);
-                AppDatabase.getInstance(getBaseContext()).groupDao().updatePutIds(group.getId(), group.getPutIdsJson());
+                Settings.getInstance(getContext()).saveGroupPutIds(getContext(), group.getId(), groupMemberDao.getPutIds(group.getId()));
             });
         }
     }
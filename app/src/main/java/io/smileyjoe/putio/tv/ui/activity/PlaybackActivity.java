@@ -12,6 +12,7 @@ import androidx.annotation.IdRes;
 import androidx.annotation.StringRes;
 import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentTransaction;
+import androidx.lifecycle.Lifecycle;
 
 import com.google.android.exoplayer2.C;
 import com.google.android.exoplayer2.TracksInfo;
@@ -36,6 +37,7 @@ import io.smileyjoe.putio.tv.ui.fragment.PlaybackVideoFragment;
 import io.smileyjoe.putio.tv.ui.fragment.SubtitleFragment;
 import io.smileyjoe.putio.tv.ui.fragment.TrackGroupSelectionFragment;
 import io.smileyjoe.putio.tv.video.VideoCache;
+import io.smileyjoe.putio.tv.video.VideoSession;
 
 public class PlaybackActivity extends BaseActivity<ActivityPlaybackBinding> implements PlaybackVideoFragment.Listener, SubtitleFragment.Listener, ErrorFragment.Listener, TrackGroupSelectionFragment.Listener, BaseFragment.OnFocusSearchListener, ConvertFragment.Listener {
 
@@ -43,8 +45,6 @@ public class PlaybackActivity extends BaseActivity<ActivityPlaybackBinding> impl
         NEXT, PREVIOUS
     }
 
-    public static final String EXTRA_VIDEO = "video";
-    public static final String EXTRA_VIDEOS = "videos";
     public static final String EXTRA_SHOULD_RESUME = "should_resume";
     public static final String EXTRA_YOUTUBE_URL = "youtube_url";
     public static final String EXTRA_MEDIA_TYPE = "media_type";
@@ -62,12 +62,13 @@ public class PlaybackActivity extends BaseActivity<ActivityPlaybackBinding> impl
     private String mYoutubeUrl;
     private MediaType mMediaType;
     private boolean mPlayMp4 = DEFAULT_FORCE_MP4;
+    private boolean mIsStartPending = false;
     @IdRes
     private final int[] mRightPanelIds = new int[]{R.id.fragment_subtitle, R.id.fragment_track_group_selection};
 
     public static Intent getIntent(Context context, Video video, boolean forceMp4, boolean shouldResume) {
         Intent intent = new Intent(context, PlaybackActivity.class);
-        intent.putExtra(EXTRA_VIDEO, video);
+        VideoSession.putExtras(intent, video, null);
         intent.putExtra(EXTRA_SHOULD_RESUME, shouldResume);
         intent.putExtra(EXTRA_MEDIA_TYPE, MediaType.VIDEO);
         intent.putExtra(EXTRA_FORCE_MP4, forceMp4);
@@ -76,8 +77,7 @@ public class PlaybackActivity extends BaseActivity<ActivityPlaybackBinding> impl
 
     public static Intent getIntent(Context context, ArrayList<Video> videos, Video video, boolean forceMp4, boolean shouldResume) {
         Intent intent = new Intent(context, PlaybackActivity.class);
-        intent.putExtra(EXTRA_VIDEOS, videos);
-        intent.putExtra(EXTRA_VIDEO, video);
+        VideoSession.putExtras(intent, video, videos);
         intent.putExtra(EXTRA_SHOULD_RESUME, shouldResume);
         intent.putExtra(EXTRA_MEDIA_TYPE, MediaType.VIDEO);
         intent.putExtra(EXTRA_FORCE_MP4, forceMp4);
@@ -104,6 +104,29 @@ public class PlaybackActivity extends BaseActivity<ActivityPlaybackBinding> impl
         mSubtitleFragment = (SubtitleFragment) getFragment(R.id.fragment_subtitle);
         mTrackGroupSelectionFragment = (TrackGroupSelectionFragment) getFragment(R.id.fragment_track_group_selection);
 
+        if (mMediaType == MediaType.VIDEO) {
+            VideoSession.restore(getBaseContext(), getIntent(), (video, videos) -> {
+                if (video == null || isDestroyed()) {
+                    finish();
+                    return;
+                }
+
+                mVideo = video;
+                mVideos = videos;
+
+                // the user may have left while the session was restored, it plays once they are back //
+                if (getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED)) {
+                    start();
+                } else {
+                    mIsStartPending = true;
+                }
+            });
+        } else {
+            start();
+        }
+    }
+
+    private void start() {
         if (mMediaType == MediaType.VIDEO) {
             mSubtitleFragment.setPutId(mVideo.getPutId());
             mSubtitleFragment.setListener(this);
@@ -144,6 +167,11 @@ public class PlaybackActivity extends BaseActivity<ActivityPlaybackBinding> impl
         mBroadcastTick = new BroadcastTick();
 
         registerReceiver(mBroadcastTick, new IntentFilter(Intent.ACTION_TIME_TICK));
+
+        if (mIsStartPending) {
+            mIsStartPending = false;
+            start();
+        }
     }
 
     @Override
@@ -264,14 +292,6 @@ public class PlaybackActivity extends BaseActivity<ActivityPlaybackBinding> impl
                 mMediaType = (MediaType) extras.getSerializable(EXTRA_MEDIA_TYPE);
             }
 
-            if (extras.containsKey(EXTRA_VIDEOS)) {
-                mVideos = extras.getParcelableArrayList(EXTRA_VIDEOS);
-            }
-
-            if (extras.containsKey(EXTRA_VIDEO)) {
-                mVideo = getIntent().getParcelableExtra(PlaybackActivity.EXTRA_VIDEO);
-            }
-
             if (extras.containsKey(EXTRA_YOUTUBE_URL)) {
                 mYoutubeUrl = getIntent().getStringExtra(EXTRA_YOUTUBE_URL);
             }
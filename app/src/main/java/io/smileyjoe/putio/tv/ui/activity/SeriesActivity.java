@@ -6,6 +6,7 @@ import android.os.Bundle;
 import android.view.View;
 
 import androidx.annotation.Nullable;
+import androidx.lifecycle.Lifecycle;
 
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
@@ -26,13 +27,12 @@ import io.smileyjoe.putio.tv.ui.fragment.SeasonDetailsFragment;
 import io.smileyjoe.putio.tv.ui.fragment.VideosFragment;
 import io.smileyjoe.putio.tv.util.FragmentUtil;
 import io.smileyjoe.putio.tv.video.VideoLoader;
+import io.smileyjoe.putio.tv.video.VideoSession;
 
 import static io.smileyjoe.putio.tv.ui.activity.PlaybackActivity.DEFAULT_FORCE_MP4;
 
 public class SeriesActivity extends BaseActivity<ActivitySeriesBinding> implements LoadVideoReceiver {
 
-    private static final String EXTRA_SERIES = "series";
-
     private SeasonDetailsFragment mFragmentSeasonDetails;
     private VideosFragment mFragmentVideoList;
     private VideoLoader mVideoLoader;
@@ -41,7 +41,7 @@ public class SeriesActivity extends BaseActivity<ActivitySeriesBinding> implemen
     public static Intent getIntent(Context context, Video series) {
         Intent intent = new Intent(context, SeriesActivity.class);
 
-        intent.putExtra(EXTRA_SERIES, series);
+        VideoSession.putExtras(intent, series, null);
 
         return intent;
     }
@@ -71,7 +71,9 @@ public class SeriesActivity extends BaseActivity<ActivitySeriesBinding> implemen
             mVideoLoader = new VideoLoader(getBaseContext());
         }
 
-        mVideoLoader.loadDirectory(mSeries.getPutId(), mSeries.getTitle());
+        if (mSeries != null) {
+            mVideoLoader.loadDirectory(mSeries.getPutId(), mSeries.getTitle());
+        }
     }
 
     @Override
@@ -91,22 +93,28 @@ public class SeriesActivity extends BaseActivity<ActivitySeriesBinding> implemen
     }
 
     private void handleExtras() {
-        Bundle extras = getIntent().getExtras();
+        VideoSession.restore(getBaseContext(), getIntent(), (series, videos) -> {
+            if (series == null || isDestroyed()) {
+                finish();
+                return;
+            }
 
-        if (extras != null) {
-            if (extras.containsKey(EXTRA_SERIES)) {
-                mSeries = extras.getParcelable(EXTRA_SERIES);
-                mFragmentSeasonDetails.update(mSeries);
+            mSeries = series;
+            mFragmentSeasonDetails.update(mSeries);
 
-                Glide.with(getBaseContext())
-                        .load(mSeries.getBackdropAsUri())
-                        .dontAnimate()
-                        .diskCacheStrategy(DiskCacheStrategy.ALL)
-                        .into(mView.imagePoster);
+            Glide.with(getBaseContext())
+                    .load(mSeries.getBackdropAsUri())
+                    .dontAnimate()
+                    .diskCacheStrategy(DiskCacheStrategy.ALL)
+                    .into(mView.imagePoster);
 
-                Channels.addProgramme(getBaseContext(), ChannelType.DEFAULT, mSeries);
+            Channels.addProgramme(getBaseContext(), ChannelType.DEFAULT, mSeries);
+
+            // only when the series had to be reloaded, otherwise onResume loads it //
+            if (getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.RESUMED)) {
+                mVideoLoader.loadDirectory(mSeries.getPutId(), mSeries.getTitle());
             }
-        }
+        });
     }
 
     @Override
@@ -127,6 +135,13 @@ public class SeriesActivity extends BaseActivity<ActivitySeriesBinding> implemen
         mFragmentVideoList.setVideos(mSeries, videos);
     }
 
+    @Override
+    public void videoLoadAppended(HistoryItem item, ArrayList<Video> videos, ArrayList<Folder> folders) {
+        if (item.getId() == mSeries.getPutId()) {
+            mFragmentVideoList.addVideos(videos);
+        }
+    }
+
     private class VideoListListener implements VideosFragment.Listener {
         @Override
         public void onItemClicked(View view, Video item) {
@@ -10,14 +10,13 @@ import java.util.ArrayList;
 import io.smileyjoe.putio.tv.R;
 import io.smileyjoe.putio.tv.object.Video;
 import io.smileyjoe.putio.tv.ui.fragment.VideoDetailsFragment;
+import io.smileyjoe.putio.tv.video.VideoSession;
 
 /*
  * Details activity class that loads LeanbackDetailsFragment class
  */
 public class VideoDetailsActivity extends Activity implements VideoDetailsFragment.Listener {
     public static final String SHARED_ELEMENT_NAME = "hero";
-    public static final String VIDEO = "video";
-    public static final String RELATED_VIDEOS = "related_videos";
 
     public static Intent getIntent(Context context, Video video) {
         return getIntent(context, video, null);
@@ -26,11 +25,7 @@ public class VideoDetailsActivity extends Activity implements VideoDetailsFragme
     public static Intent getIntent(Context context, Video video, ArrayList<Video> relatedVideos) {
         Intent intent = new Intent(context, VideoDetailsActivity.class);
 
-        intent.putExtra(VIDEO, video);
-
-        if (relatedVideos != null && !relatedVideos.isEmpty()) {
-            intent.putExtra(RELATED_VIDEOS, relatedVideos);
-        }
+        VideoSession.putExtras(intent, video, relatedVideos != null && !relatedVideos.isEmpty() ? relatedVideos : null);
 
         return intent;
     }
@@ -10,6 +10,7 @@ import android.widget.ImageView;
 
 import androidx.annotation.Nullable;
 import androidx.appcompat.widget.LinearLayoutCompat;
+import androidx.lifecycle.Lifecycle;
 
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
@@ -30,11 +31,10 @@ import io.smileyjoe.putio.tv.interfaces.VideoDetails;
 import io.smileyjoe.putio.tv.object.Group;
 import io.smileyjoe.putio.tv.object.Video;
 import io.smileyjoe.putio.tv.ui.viewholder.VideoDetailsViewHolder;
+import io.smileyjoe.putio.tv.video.VideoSession;
 
 public class VideoDetailsBackdropActivity extends BaseActivity<ActivityDetailsBackdropBinding> implements VideoDetails, ConvertAction, PlayAction, ResumeAction, RefreshAction, GroupAction, TrailerAction {
 
-    private static final String EXTRA_VIDEO = "video";
-
     private Video mVideo;
     private VideoDetailsViewHolder mVideoDetailsViewHolder;
     private int mButtonMargin;
@@ -43,7 +43,7 @@ public class VideoDetailsBackdropActivity extends BaseActivity<ActivityDetailsBa
     public static Intent getIntent(Context context, Video video) {
         Intent intent = new Intent(context, VideoDetailsBackdropActivity.class);
 
-        intent.putExtra(EXTRA_VIDEO, video);
+        VideoSession.putExtras(intent, video, null);
 
         return intent;
     }
@@ -55,9 +55,20 @@ public class VideoDetailsBackdropActivity extends BaseActivity<ActivityDetailsBa
         mHashGroups = new HashMap<>();
         mButtonMargin = getResources().getDimensionPixelOffset(R.dimen.padding_general);
 
-        handleExtras();
-        populate();
-        getData();
+        VideoSession.restore(getBaseContext(), getIntent(), (video, videos) -> {
+            if (video == null || isDestroyed()) {
+                finish();
+                return;
+            }
+
+            mVideo = video;
+            populate();
+            getData();
+
+            if (getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.RESUMED)) {
+                getResumeTime();
+            }
+        });
     }
 
     @Override
@@ -79,7 +90,10 @@ public class VideoDetailsBackdropActivity extends BaseActivity<ActivityDetailsBa
     @Override
     public void onResume() {
         super.onResume();
-        getResumeTime();
+
+        if (mVideo != null) {
+            getResumeTime();
+        }
     }
 
     @Override
@@ -146,16 +160,6 @@ public class VideoDetailsBackdropActivity extends BaseActivity<ActivityDetailsBa
                 .into(image);
     }
 
-    private void handleExtras() {
-        Bundle extras = getIntent().getExtras();
-
-        if (extras != null) {
-            if (extras.containsKey(EXTRA_VIDEO)) {
-                mVideo = extras.getParcelable(EXTRA_VIDEO);
-            }
-        }
-    }
-
     @Override
     public Context getContext() {
         return this;
@@ -7,15 +7,20 @@ import android.view.ViewGroup;
 
 import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.viewbinding.ViewBinding;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import io.smileyjoe.putio.tv.interfaces.HomeFragmentListener;
 import io.smileyjoe.putio.tv.object.FragmentType;
 import io.smileyjoe.putio.tv.ui.viewholder.BaseViewHolder;
+import io.smileyjoe.putio.tv.util.Async;
 
 public abstract class BaseListAdapter<T, U extends BaseViewHolder<T, ? extends ViewBinding>> extends RecyclerView.Adapter<U> implements BaseViewHolder.Listener<T> {
 
@@ -26,6 +31,13 @@ public abstract class BaseListAdapter<T, U extends BaseViewHolder<T, ? extends V
     private Context mContext;
     private Optional<Listener<T>> mListener;
     private ArrayList<T> mItems = new ArrayList<>();
+    // the last list that was set, ahead of mItems while its changes are being worked out //
+    private ArrayList<T> mLatestItems = mItems;
+    // what each item looked like when it was handed to the adapter, items can be changed in place //
+    private ArrayList<Object> mContents = new ArrayList<>();
+    // updates made while a new list's changes are being worked out, by item id, the new list may hold older copies //
+    private LinkedHashMap<Long, T> mPendingUpdates = new LinkedHashMap<>();
+    private int mGeneration = 0;
     private FragmentType mFragmentType;
     private View mViewSelected;
     private int mSelectedPosition = -1;
@@ -49,14 +61,43 @@ public abstract class BaseListAdapter<T, U extends BaseViewHolder<T, ? extends V
         mListener = Optional.ofNullable(listener);
     }
 
+    /**
+     * Adapters with stable ids get the change set worked out on the CPU lane and only the items that
+     * changed are rebound, the new items are shown once that is done.
+     * Adapters without stable ids swap the list straight away.
+     */
     public void setItems(ArrayList<T> items) {
+        ArrayList<T> newItems = items != null ? items : new ArrayList<>();
+        ArrayList<Object> newContents = getContents(newItems);
+        int generation = ++mGeneration;
+        mLatestItems = newItems;
+
+        if (!hasStableIds() || mItems.isEmpty() || newItems.isEmpty()) {
+            replaceItems(newItems, newContents);
+            return;
+        }
+
+        ArrayList<T> oldItems = new ArrayList<>(mItems);
+        ArrayList<Object> oldContents = new ArrayList<>(mContents);
+
+        Async.run(Async.Lane.CPU, () -> DiffUtil.calculateDiff(new DiffCallback(oldItems, oldContents, newItems, newContents)), result -> {
+            // a newer list was set while this one was being compared //
+            if (generation != mGeneration) {
+                return;
+            }
+
+            mItems = newItems;
+            mContents = newContents;
+            result.dispatchUpdatesTo(this);
+            applyPendingUpdates();
+        });
+    }
+
+    private void replaceItems(ArrayList<T> items, ArrayList<Object> contents) {
         int oldSize = getItemCount();
 
-        if (items != null) {
-            mItems = items;
-        } else {
-            mItems = new ArrayList<>();
-        }
+        mItems = items;
+        mContents = contents;
 
         int newSize = getItemCount();
 
@@ -73,6 +114,57 @@ public abstract class BaseListAdapter<T, U extends BaseViewHolder<T, ? extends V
             notifyItemRangeChanged(0, newSize);
             notifyItemRangeRemoved(newSize, oldSize);
         }
+
+        applyPendingUpdates();
+    }
+
+    private void applyPendingUpdates() {
+        if (mPendingUpdates.isEmpty()) {
+            return;
+        }
+
+        LinkedHashMap<Long, T> updates = mPendingUpdates;
+        mPendingUpdates = new LinkedHashMap<>();
+
+        for (int i = 0; i < mItems.size(); i++) {
+            T update = updates.get(getItemId(mItems.get(i)));
+
+            if (update != null) {
+                update(update, i);
+            }
+        }
+    }
+
+    private ArrayList<Object> getContents(ArrayList<T> items) {
+        ArrayList<Object> contents = new ArrayList<>(items.size());
+
+        for (T item : items) {
+            contents.add(getContent(item));
+        }
+
+        return contents;
+    }
+
+    /**
+     * Used as the identity of the item when the adapter has stable ids
+     */
+    protected long getItemId(T item) {
+        return RecyclerView.NO_ID;
+    }
+
+    /**
+     * A snapshot of what is shown for the item, two items with equal content are not rebound.
+     */
+    protected Object getContent(T item) {
+        return item;
+    }
+
+    /**
+     * @return what changed between the two contents, handed to {@link BaseViewHolder#bindView(Object, int, List)}.
+     * Null rebinds the whole item
+     */
+    protected Object getChangePayload(Object oldContent, Object newContent) {
+        return null;
     }
 
     public void setFragmentType(FragmentType fragmentType) {
@@ -83,8 +175,12 @@ public abstract class BaseListAdapter<T, U extends BaseViewHolder<T, ? extends V
         return mFragmentType;
     }
 
+    /**
+     * The last items that were set, these may not be shown yet.
+     * Use {@link #getItem(int)} and {@link #getItemCount()} for what is on screen.
+     */
     public ArrayList<T> getItems() {
-        return mItems;
+        return mLatestItems;
     }
 
     public Optional<Listener<T>> getListener() {
@@ -96,6 +192,11 @@ public abstract class BaseListAdapter<T, U extends BaseViewHolder<T, ? extends V
         return mItems.size();
     }
 
+    @Override
+    public long getItemId(int position) {
+        return getItemId(getItem(position));
+    }
+
     public T getItem(int position) {
         return mItems.get(position);
     }
@@ -127,7 +228,20 @@ public abstract class BaseListAdapter<T, U extends BaseViewHolder<T, ? extends V
     @Override
     public void onBindViewHolder(@NonNull BaseViewHolder holder, int position) {
         holder.bindView(getItem(position), position);
+        bindSelected(holder, position);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull U holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+        } else {
+            holder.bindView(getItem(position), position, payloads);
+            bindSelected(holder, position);
+        }
+    }
 
+    private void bindSelected(BaseViewHolder holder, int position) {
         if (mMarkSelected) {
             if (position == mSelectedPosition) {
                 highlightItem(holder.getView(), position);
@@ -177,8 +291,16 @@ public abstract class BaseListAdapter<T, U extends BaseViewHolder<T, ? extends V
 
     @Override
     public void update(T item, int position) {
+        Object oldContent = mContents.get(position);
+        Object newContent = getContent(item);
+
         mItems.set(position, item);
-        notifyItemChanged(position);
+        mContents.set(position, newContent);
+        notifyItemChanged(position, getChangePayload(oldContent, newContent));
+
+        if (mLatestItems != mItems) {
+            mPendingUpdates.put(getItemId(item), item);
+        }
     }
 
     public void clearSelected() {
@@ -193,4 +315,43 @@ public abstract class BaseListAdapter<T, U extends BaseViewHolder<T, ? extends V
     public void hasFocus(FragmentType type, T item, View view, int position) {
         mListener.ifPresent(listener -> listener.hasFocus(type, item, view, position));
     }
+
+    private class DiffCallback extends DiffUtil.Callback {
+        private final ArrayList<T> mOldItems;
+        private final ArrayList<Object> mOldContents;
+        private final ArrayList<T> mNewItems;
+        private final ArrayList<Object> mNewContents;
+
+        private DiffCallback(ArrayList<T> oldItems, ArrayList<Object> oldContents, ArrayList<T> newItems, ArrayList<Object> newContents) {
+            mOldItems = oldItems;
+            mOldContents = oldContents;
+            mNewItems = newItems;
+            mNewContents = newContents;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return mOldItems.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return mNewItems.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+            return getItemId(mOldItems.get(oldItemPosition)) == getItemId(mNewItems.get(newItemPosition));
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+            return Objects.equals(mOldContents.get(oldItemPosition), mNewContents.get(newItemPosition));
+        }
+
+        @Override
+        public Object getChangePayload(int oldItemPosition, int newItemPosition) {
+            return BaseListAdapter.this.getChangePayload(mOldContents.get(oldItemPosition), mNewContents.get(newItemPosition));
+        }
+    }
 }
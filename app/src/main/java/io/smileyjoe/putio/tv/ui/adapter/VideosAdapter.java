@@ -5,19 +5,26 @@ import android.view.View;
 
 import androidx.annotation.DrawableRes;
 import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
 import androidx.annotation.StringRes;
 import androidx.viewbinding.ViewBinding;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Objects;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import io.smileyjoe.putio.tv.R;
+import io.smileyjoe.putio.tv.object.FileType;
 import io.smileyjoe.putio.tv.object.FragmentType;
 import io.smileyjoe.putio.tv.object.Video;
+import io.smileyjoe.putio.tv.object.VideoType;
 import io.smileyjoe.putio.tv.ui.viewholder.BaseVideosViewHolder;
+import io.smileyjoe.putio.tv.ui.viewholder.BaseViewHolder;
 import io.smileyjoe.putio.tv.ui.viewholder.VideosGridViewHolder;
 import io.smileyjoe.putio.tv.ui.viewholder.VideosListViewHolder;
+import io.smileyjoe.putio.tv.util.EnrichmentScheduler;
 
 public class VideosAdapter extends BaseListAdapter<Video, BaseVideosViewHolder<? extends ViewBinding>> {
 
@@ -82,16 +89,14 @@ public class VideosAdapter extends BaseListAdapter<Video, BaseVideosViewHolder<?
     public VideosAdapter(Context context, Style style) {
         super(context);
         mStyle = style;
+        setHasStableIds(true);
         setItems(new ArrayList<>());
     }
 
     public void update(Video video) {
-        IntStream.range(0, getItems().size())
+        IntStream.range(0, getItemCount())
                 .filter(i -> getItem(i).getPutId() == video.getPutId())
-                .forEach(i -> {
-                    getItems().set(i, video);
-                    notifyItemChanged(i);
-                });
+                .forEach(i -> update(video, i));
     }
 
     public void setStyle(Style style) {
@@ -107,4 +112,109 @@ public class VideosAdapter extends BaseListAdapter<Video, BaseVideosViewHolder<?
     protected BaseVideosViewHolder<? extends ViewBinding> getViewHolder(View view, FragmentType fragmentType) {
         return mStyle.getViewHolder(view, fragmentType);
     }
+
+    @Override
+    public void onBindViewHolder(@NonNull BaseViewHolder holder, int position) {
+        Video video = getItem(position);
+
+        // on screen now, so its lookup shouldn't wait behind the rest of the folder //
+        if (!video.isTmdbChecked()) {
+            EnrichmentScheduler.getInstance().prioritise(video.getPutId());
+        }
+
+        super.onBindViewHolder(holder, position);
+    }
+
+    @Override
+    protected long getItemId(Video video) {
+        return video.getPutId();
+    }
+
+    @Override
+    protected Object getContent(Video video) {
+        return new Content(video);
+    }
+
+    @Override
+    protected Object getChangePayload(Object oldContent, Object newContent) {
+        return ((Content) oldContent).getChanges((Content) newContent);
+    }
+
+    /**
+     * The parts of a video that are shown in the list, taken when the list is set because the
+     * videos themselves are updated in place
+     */
+    private static class Content {
+        private final String mTitle;
+        private final String mPutTitle;
+        private final String mOverView;
+        private final VideoType mVideoType;
+        private final FileType mFileType;
+        private final int mYear;
+        private final int mSeason;
+        private final int mEpisode;
+        private final String mPoster;
+        private final boolean mIsWatched;
+        private final long mResumeTime;
+
+        private Content(Video video) {
+            mTitle = video.getTitle();
+            mPutTitle = video.getPutTitle();
+            mOverView = video.getOverView();
+            mVideoType = video.getVideoType();
+            mFileType = video.getFileType();
+            mYear = video.getYear();
+            mSeason = video.getSeason();
+            mEpisode = video.getEpisode();
+            mPoster = video.getPoster();
+            mIsWatched = video.isWatched();
+            mResumeTime = video.getResumeTime();
+        }
+
+        /**
+         * @return the parts that changed, null if something changed that can't be rebound on its own
+         */
+        private EnumSet<BaseVideosViewHolder.Change> getChanges(Content content) {
+            if (!Objects.equals(mTitle, content.mTitle)
+                    || !Objects.equals(mPutTitle, content.mPutTitle)
+                    || !Objects.equals(mOverView, content.mOverView)
+                    || mVideoType != content.mVideoType
+                    || mFileType != content.mFileType
+                    || mYear != content.mYear
+                    || mSeason != content.mSeason
+                    || mEpisode != content.mEpisode) {
+                return null;
+            }
+
+            EnumSet<BaseVideosViewHolder.Change> changes = EnumSet.noneOf(BaseVideosViewHolder.Change.class);
+
+            if (!Objects.equals(mPoster, content.mPoster)) {
+                changes.add(BaseVideosViewHolder.Change.POSTER);
+            }
+
+            if (mIsWatched != content.mIsWatched) {
+                changes.add(BaseVideosViewHolder.Change.WATCHED);
+            }
+
+            if (mResumeTime != content.mResumeTime) {
+                changes.add(BaseVideosViewHolder.Change.RESUME_TIME);
+            }
+
+            return changes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Content content = (Content) o;
+            EnumSet<BaseVideosViewHolder.Change> changes = getChanges(content);
+            return changes != null && changes.isEmpty();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(mTitle, mPutTitle, mOverView, mVideoType, mFileType, mYear, mSeason, mEpisode, mPoster, mIsWatched, mResumeTime);
+        }
+    }
 }
@@ -94,7 +94,7 @@ public class ConvertFragment extends BaseFragment<FragmentConvertBinding> {
                         mVideo.setConverted(true);
                         Async.run(() -> {
                             PutioHelper helper = new PutioHelper(getContext());
-                            helper.parse(mVideo.getPutId(), Putio.Files.get(getContext(), mVideo.getPutId()));
+                            helper.parse(mVideo.getPutId(), Putio.Files.getListing(getContext(), mVideo.getPutId()));
                             return helper.getCurrent();
                         }, video -> {
                             VideoCache.getInstance().update(video);
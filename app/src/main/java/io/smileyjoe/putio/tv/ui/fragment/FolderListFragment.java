@@ -82,6 +82,14 @@ public class FolderListFragment extends BaseFragment<FragmentFolderListBinding>
         mAdapter.setItems(folders);
     }
 
+    public void addFolders(ArrayList<Folder> folders) {
+        if (folders != null && !folders.isEmpty()) {
+            ArrayList<Folder> merged = new ArrayList<>(mAdapter.getItems());
+            merged.addAll(folders);
+            setFolders(merged);
+        }
+    }
+
     public boolean hasItems() {
         if (mAdapter == null) {
             return false;
@@ -1,5 +1,6 @@
 package io.smileyjoe.putio.tv.ui.fragment;
 
+import android.content.Context;
 import android.os.Bundle;
 import android.view.View;
 
@@ -23,6 +24,7 @@ public class GroupFragment extends ToggleFragment<Group> {
 
     private ArrayList<Group> mGroups;
     private ArrayList<View> mViews;
+    private long mCurrentPutId;
 
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
@@ -41,7 +43,13 @@ public class GroupFragment extends ToggleFragment<Group> {
     }
 
     private void getGroups(LoadedListener listener) {
-        Async.run(() -> AppDatabase.getInstance(getContext()).groupDao().getByType(GroupType.DIRECTORY.getId()), groups -> {
+        Context context = getContext().getApplicationContext();
+
+        Async.run(() -> AppDatabase.getInstance(context).groupDao().getByType(GroupType.DIRECTORY.getId()), groups -> {
+            if (!isAdded()) {
+                return;
+            }
+
             groups.stream()
                     .filter(Group::isEnabled)
                     .forEach(group -> {
@@ -65,9 +73,26 @@ public class GroupFragment extends ToggleFragment<Group> {
     }
 
     public void setCurrentPutId(long currentPutId) {
+        mCurrentPutId = currentPutId;
+
+        // can be called for a folder that loads after the fragment has gone //
+        if (!isAdded()) {
+            return;
+        }
+
         if (hasItems()) {
-            IntStream.range(0, mGroups.size())
-                    .forEach(i -> mViews.get(i).setSelected(mGroups.get(i).getPutIds().contains(currentPutId)));
+            Context context = getContext().getApplicationContext();
+
+            Async.run(() -> AppDatabase.getInstance(context).groupMemberDao().getGroupIds(currentPutId), groupIds -> {
+                // a different folder was opened while this one was being read //
+                if (currentPutId != mCurrentPutId || !isAdded()) {
+                    return;
+                }
+
+                // views are added as the groups load, only mark the ones that are there //
+                IntStream.range(0, Math.min(mGroups.size(), mViews.size()))
+                        .forEach(i -> mViews.get(i).setSelected(groupIds.contains(mGroups.get(i).getId())));
+            });
         }
     }
 
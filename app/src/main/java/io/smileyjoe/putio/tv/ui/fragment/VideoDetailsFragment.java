@@ -49,6 +49,7 @@ import io.smileyjoe.putio.tv.ui.activity.VideoDetailsActivity;
 import io.smileyjoe.putio.tv.ui.activity.VideoDetailsBackdropActivity;
 import io.smileyjoe.putio.tv.ui.viewholder.RelatedVideoCardPresenter;
 import io.smileyjoe.putio.tv.ui.viewholder.VideoDetailsDescriptionPresenter;
+import io.smileyjoe.putio.tv.video.VideoSession;
 import io.smileyjoe.putio.tv.util.VideoUtil;
 
 /*
@@ -80,8 +81,19 @@ public class VideoDetailsFragment extends DetailsFragment implements VideoDetail
 
         mDetailsBackground = new DetailsFragmentBackgroundController(this);
 
-        handleIntent();
+        VideoSession.restore(getActivity(), getActivity().getIntent(), (video, relatedVideos) -> {
+            // restoring can finish after the screen has been closed //
+            if (!isAdded() || getActivity() == null) {
+                return;
+            }
+
+            mVideo = video;
+            mRelatedVideos = relatedVideos;
+            onVideoRestored();
+        });
+    }
 
+    private void onVideoRestored() {
         if (mVideo != null) {
             if (mVideo.getResumeTime() <= 0) {
                 getResumeTime();
@@ -152,11 +164,6 @@ public class VideoDetailsFragment extends DetailsFragment implements VideoDetail
         setupRelatedVideoListRow();
     }
 
-    public void handleIntent() {
-        mVideo = getActivity().getIntent().getParcelableExtra(VideoDetailsActivity.VIDEO);
-        mRelatedVideos = getActivity().getIntent().getParcelableArrayListExtra(VideoDetailsActivity.RELATED_VIDEOS);
-    }
-
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
@@ -169,7 +176,11 @@ public class VideoDetailsFragment extends DetailsFragment implements VideoDetail
     @Override
     public void onResume() {
         super.onResume();
-        updateActionResume();
+
+        // not set up yet while the video is being reloaded //
+        if (mActionAdapter != null) {
+            updateActionResume();
+        }
     }
 
     private void initializeBackground(Video video) {
@@ -12,16 +12,20 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import io.smileyjoe.putio.tv.comparator.VideoComparator;
 import io.smileyjoe.putio.tv.databinding.FragmentVideoListBinding;
 import io.smileyjoe.putio.tv.object.Filter;
 import io.smileyjoe.putio.tv.object.FragmentType;
 import io.smileyjoe.putio.tv.object.Video;
 import io.smileyjoe.putio.tv.ui.adapter.VideosAdapter;
+import io.smileyjoe.putio.tv.util.Async;
 import io.smileyjoe.putio.tv.util.Settings;
 import io.smileyjoe.putio.tv.util.SnappingLinearLayoutManager;
+import io.smileyjoe.putio.tv.util.VideoIndex;
 import io.smileyjoe.putio.tv.util.VideoUtil;
 
 public class VideosFragment extends BaseFragment<FragmentVideoListBinding> {
@@ -32,6 +36,11 @@ public class VideosFragment extends BaseFragment<FragmentVideoListBinding> {
     private VideosAdapter mVideosAdapter;
     private RecyclerView.LayoutManager mLayoutManager;
     private ArrayList<Video> mVideosAll;
+    // null until it has been built for the current videos, filters scan the whole list until then //
+    private VideoIndex mVideoIndex;
+    private int mIndexGeneration = 0;
+    // updates made while the index is being built, it was built from the videos before them //
+    private LinkedHashMap<Long, Video> mPendingIndexUpdates = new LinkedHashMap<>();
     private ArrayList<Filter> mAppliedFilters = new ArrayList<>();
     private Integer mAppliedGenreId = -1;
     private VideosAdapter.Style mStyle = VideosAdapter.Style.GRID;
@@ -93,6 +102,20 @@ public class VideosFragment extends BaseFragment<FragmentVideoListBinding> {
     }
 
     public void update(Video video) {
+        if (mVideosAll != null) {
+            for (int i = 0; i < mVideosAll.size(); i++) {
+                if (mVideosAll.get(i).getPutId() == video.getPutId()) {
+                    mVideosAll.set(i, video);
+                }
+            }
+        }
+
+        if (mVideoIndex != null) {
+            mVideoIndex.update(video);
+        } else {
+            mPendingIndexUpdates.put(video.getPutId(), video);
+        }
+
         if (mVideosAdapter != null) {
             mVideosAdapter.update(video);
         }
@@ -134,6 +157,43 @@ public class VideosFragment extends BaseFragment<FragmentVideoListBinding> {
         mAppliedFilters = new ArrayList<>();
         mVideosAll = videos;
         populate();
+        buildIndex();
+    }
+
+    public void addVideos(ArrayList<Video> videos) {
+        if (mVideosAll == null) {
+            setVideos(videos);
+        } else {
+            mVideosAll.addAll(videos);
+            populate();
+            buildIndex();
+        }
+    }
+
+    private void buildIndex() {
+        int generation = ++mIndexGeneration;
+        ArrayList<Video> videos = new ArrayList<>(mVideosAll);
+
+        mVideoIndex = null;
+        // already in the videos the index is built from //
+        mPendingIndexUpdates.clear();
+        Async.run(Async.Lane.CPU, () -> new VideoIndex(videos), index -> {
+            // the videos changed while this one was being built //
+            if (generation != mIndexGeneration) {
+                return;
+            }
+
+            for (Video video : mPendingIndexUpdates.values()) {
+                index.update(video);
+            }
+
+            mPendingIndexUpdates.clear();
+            mVideoIndex = index;
+        });
+    }
+
+    public ArrayList<Video> getAllVideos() {
+        return mVideosAll;
     }
 
     private void populate() {
@@ -167,6 +227,16 @@ public class VideosFragment extends BaseFragment<FragmentVideoListBinding> {
     }
 
     private ArrayList<Video> applyFilters() {
+        Filter filterSort = mAppliedFilters.stream()
+                .filter(filter -> filter.getGroup() == Filter.Group.SORT)
+                .findFirst()
+                .orElse(null);
+
+        if (mVideoIndex != null) {
+            VideoComparator.Order order = filterSort != null ? VideoComparator.Order.fromFilter(filterSort) : VideoComparator.Order.ALPHABETICAL;
+            return mVideoIndex.filter(mAppliedGenreId, mAppliedFilters.contains(Filter.SHOW_WATCHED), order);
+        }
+
         ArrayList<Video> filtered = new ArrayList<>();
 
         for (Video video : mVideosAll) {
@@ -196,11 +266,6 @@ public class VideosFragment extends BaseFragment<FragmentVideoListBinding> {
             }
         }
 
-        Filter filterSort = mAppliedFilters.stream()
-                .filter(filter -> filter.getGroup() == Filter.Group.SORT)
-                .findFirst()
-                .orElse(null);
-
         if (filterSort != null) {
             VideoUtil.sort(filtered, filterSort);
         } else {
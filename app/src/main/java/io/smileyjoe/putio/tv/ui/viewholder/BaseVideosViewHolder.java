@@ -12,7 +12,10 @@ import androidx.viewbinding.ViewBinding;
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
 
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import io.smileyjoe.putio.tv.R;
@@ -26,6 +29,13 @@ import io.smileyjoe.putio.tv.object.Video;
 
 public abstract class BaseVideosViewHolder<V extends ViewBinding> extends BaseViewHolder<Video, V> {
 
+    /**
+     * Parts of a video that can be rebound on their own
+     */
+    public enum Change {
+        WATCHED, POSTER, RESUME_TIME
+    }
+
     private int mPosterPadding;
 
     public BaseVideosViewHolder(@NonNull View itemView, FragmentType fragmentType) {
@@ -44,6 +54,28 @@ public abstract class BaseVideosViewHolder<V extends ViewBinding> extends BaseVi
         mView.getRoot().setOnCreateContextMenuListener(new ContextMenu(getContext(), item));
     }
 
+    @Override
+    public void bindView(Video item, int position, List<Object> payloads) {
+        EnumSet<Change> changes = EnumSet.noneOf(Change.class);
+
+        for (Object payload : payloads) {
+            if (payload instanceof Collection) {
+                for (Object change : (Collection<?>) payload) {
+                    changes.add((Change) change);
+                }
+            } else {
+                bindView(item, position);
+                return;
+            }
+        }
+
+        super.bindView(item, position);
+        mView.getRoot().setOnCreateContextMenuListener(new ContextMenu(getContext(), item));
+        bindChanges(item, changes);
+    }
+
+    protected abstract void bindChanges(Video video, EnumSet<Change> changes);
+
     @Override
     public boolean onLongClick(View v) {
         v.showContextMenu();
@@ -9,6 +9,7 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.viewbinding.ViewBinding;
 
+import java.util.List;
 import java.util.Optional;
 
 import io.smileyjoe.putio.tv.interfaces.HomeFragmentListener;
@@ -56,6 +57,13 @@ public abstract class BaseViewHolder<T, V extends ViewBinding> extends RecyclerV
         mPosition = position;
     }
 
+    /**
+     * Only rebind what the payloads say has changed, by default the whole item is bound again
+     */
+    public void bindView(T item, int position, List<Object> payloads) {
+        bindView(item, position);
+    }
+
     protected int getInternalPosition() {
         return mPosition;
     }
@@ -4,6 +4,8 @@ import android.view.View;
 
 import androidx.annotation.NonNull;
 
+import java.util.EnumSet;
+
 import io.smileyjoe.putio.tv.databinding.GridItemVideoBinding;
 import io.smileyjoe.putio.tv.object.FragmentType;
 import io.smileyjoe.putio.tv.object.Video;
@@ -26,7 +28,21 @@ public class VideosGridViewHolder extends BaseVideosViewHolder<GridItemVideoBind
         mView.textTitle.setText(video.getTitleFormatted(getContext(), true));
         populateSummary(video, mView.textSummary);
         populatePoster(video, mView.imagePoster);
+        populateWatched(video);
+    }
+
+    @Override
+    protected void bindChanges(Video video, EnumSet<Change> changes) {
+        if (changes.contains(Change.POSTER)) {
+            populatePoster(video, mView.imagePoster);
+        }
+
+        if (changes.contains(Change.WATCHED)) {
+            populateWatched(video);
+        }
+    }
 
+    private void populateWatched(Video video) {
         if (video.isWatched()) {
             mView.frameWatched.setVisibility(View.VISIBLE);
         } else {
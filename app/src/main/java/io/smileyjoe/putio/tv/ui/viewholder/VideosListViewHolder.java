@@ -5,6 +5,8 @@ import android.view.View;
 
 import androidx.annotation.NonNull;
 
+import java.util.EnumSet;
+
 import io.smileyjoe.putio.tv.R;
 import io.smileyjoe.putio.tv.databinding.ListItemVideoBinding;
 import io.smileyjoe.putio.tv.object.FragmentType;
@@ -47,7 +49,25 @@ public class VideosListViewHolder extends BaseVideosViewHolder<ListItemVideoBind
         populateSummary(video, mView.textSummary);
         populatePoster(video, mView.imagePoster);
         ViewUtil.populateResumeTime(mView.textResumeTime, video);
+        populateWatched(video);
+    }
+
+    @Override
+    protected void bindChanges(Video video, EnumSet<Change> changes) {
+        if (changes.contains(Change.POSTER)) {
+            populatePoster(video, mView.imagePoster);
+        }
+
+        if (changes.contains(Change.RESUME_TIME)) {
+            ViewUtil.populateResumeTime(mView.textResumeTime, video);
+        }
+
+        if (changes.contains(Change.WATCHED)) {
+            populateWatched(video);
+        }
+    }
 
+    private void populateWatched(Video video) {
         if (video.isWatched()) {
             mView.imageWatched.setVisibility(View.VISIBLE);
         } else {
@@ -2,12 +2,26 @@ package io.smileyjoe.putio.tv.util;
 
 import android.os.Handler;
 import android.os.Looper;
+import android.os.Process;
 
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Async {
 
+    /**
+     * Which shared pool a background task runs on.
+     * IO is for work that blocks on the network or database, CPU is for pure computation.
+     */
+    public enum Lane {
+        IO, CPU
+    }
+
     public interface BackgroundOnly {
         void running();
     }
@@ -20,15 +34,36 @@ public class Async {
         void complete(T result);
     }
 
+    private static final int CPU_COUNT = Runtime.getRuntime().availableProcessors();
+    private static final int IO_THREADS = Math.max(4, Math.min(CPU_COUNT * 2, 8));
+    private static final int CPU_THREADS = Math.max(2, Math.min(CPU_COUNT - 1, 4));
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static final ThreadPoolExecutor sIoExecutor = createExecutor("io", IO_THREADS, Process.THREAD_PRIORITY_BACKGROUND);
+    private static final ThreadPoolExecutor sCpuExecutor = createExecutor("cpu", CPU_THREADS, Process.THREAD_PRIORITY_BACKGROUND + Process.THREAD_PRIORITY_MORE_FAVORABLE);
+    private static final Executor sMainExecutor = new MainThreadExecutor();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(Async::shutdown, "async-shutdown"));
+    }
+
     private final Executor mBackgroundThread;
     private final Executor mMainThread;
 
     public static <T> void run(BackgroundOnly background) {
-        new Async().onBackground().execute(background::running);
+        run(Lane.IO, background);
+    }
+
+    public static <T> void run(Lane lane, BackgroundOnly background) {
+        new Async(lane).onBackground().execute(background::running);
     }
 
     public static <T> void run(Background<T> background, Main<T> main) {
-        Async async = new Async();
+        run(Lane.IO, background, main);
+    }
+
+    public static <T> void run(Lane lane, Background<T> background, Main<T> main) {
+        Async async = new Async(lane);
         async.onBackground().execute(() -> {
             T result = background.running();
             async.onMain().execute(() -> main.complete(result));
@@ -39,8 +74,12 @@ public class Async {
         protected abstract T onBackground();
         protected abstract void onMain(T result);
 
+        protected Lane getLane() {
+            return Lane.IO;
+        }
+
         public void run() {
-            Async.run(this::onBackground, this::onMain);
+            Async.run(getLane(), this::onBackground, this::onMain);
         }
     }
 
@@ -53,8 +92,80 @@ public class Async {
     }
 
     public Async() {
-        mBackgroundThread = Executors.newSingleThreadExecutor();
-        mMainThread = new MainThreadExecutor();
+        this(Lane.IO);
+    }
+
+    public Async(Lane lane) {
+        mBackgroundThread = getExecutor(lane);
+        mMainThread = sMainExecutor;
+    }
+
+    public static ExecutorService getExecutor(Lane lane) {
+        switch (lane) {
+            case CPU:
+                return sCpuExecutor;
+            case IO:
+            default:
+                return sIoExecutor;
+        }
+    }
+
+    /**
+     * Number of tasks waiting for a thread on the given lane
+     */
+    public static int getQueueDepth(Lane lane) {
+        return ((ThreadPoolExecutor) getExecutor(lane)).getQueue().size();
+    }
+
+    /**
+     * Number of threads currently running a task on the given lane
+     */
+    public static int getActiveCount(Lane lane) {
+        return ((ThreadPoolExecutor) getExecutor(lane)).getActiveCount();
+    }
+
+    public static long getCompletedCount(Lane lane) {
+        return ((ThreadPoolExecutor) getExecutor(lane)).getCompletedTaskCount();
+    }
+
+    public static void shutdown() {
+        sIoExecutor.shutdown();
+        sCpuExecutor.shutdown();
+    }
+
+    private static ThreadPoolExecutor createExecutor(String name, int threads, int priority) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamedThreadFactory(name, priority));
+
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final AtomicInteger mCount = new AtomicInteger(1);
+        private final String mName;
+        private final int mPriority;
+
+        public NamedThreadFactory(String name, int priority) {
+            mName = name;
+            mPriority = priority;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(mPriority);
+                runnable.run();
+            }, "async-" + mName + "-" + mCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 
     private static class MainThreadExecutor implements Executor {
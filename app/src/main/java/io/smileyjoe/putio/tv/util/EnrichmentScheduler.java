@@ -0,0 +1,347 @@
+package io.smileyjoe.putio.tv.util;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Decides the order videos are looked up on TMDB in. Cards that are on screen go first, then the
+ * rest of the listing that was opened, then further pages. Lookups are started at a rate TMDB is
+ * happy with and a few at a time.
+ * Navigating starts a new generation, lookups still waiting from the last one are put aside and
+ * only picked up again if their card is shown. Lookups scheduled for a generation that has already
+ * passed, like a listing that arrived after the user moved on, are put aside straight away.
+ */
+public class EnrichmentScheduler {
+
+    public enum Priority {
+        VISIBLE, NEXT_PAGE, BACKGROUND
+    }
+
+    public interface Task {
+        /**
+         * Called on a background thread
+         *
+         * @param done must be called once the lookup has finished
+         */
+        void start(Runnable done);
+    }
+
+    private static final String TAG = "EnrichmentScheduler";
+    private static final int MAX_RUNNING = 4;
+    // a lookup can be up to six searches and a details request, TMDB allows around 50 a second //
+    private static final int STARTS_PER_SECOND = 5;
+    private static final int MAX_PARKED = 500;
+
+    private static volatile EnrichmentScheduler sInstance;
+
+    private final EnumMap<Priority, ArrayDeque<Job>> mQueues = new EnumMap<>(Priority.class);
+    private final HashMap<Long, Job> mQueued = new HashMap<>();
+    private final LinkedHashMap<Long, Job> mParked = new LinkedHashMap<Long, Job>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Job> eldest) {
+            return size() > MAX_PARKED;
+        }
+    };
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private int mGeneration = 0;
+    private int mRunning = 0;
+    private double mTokens = STARTS_PER_SECOND;
+    private long mRefilledAt = System.nanoTime();
+    private boolean mIsDrainScheduled = false;
+    private long mCompleted = 0;
+    private long mParkedTotal = 0;
+
+    public static EnrichmentScheduler getInstance() {
+        if (sInstance == null) {
+            synchronized (EnrichmentScheduler.class) {
+                if (sInstance == null) {
+                    sInstance = new EnrichmentScheduler();
+                }
+            }
+        }
+
+        return sInstance;
+    }
+
+    private EnrichmentScheduler() {
+        for (Priority priority : Priority.values()) {
+            mQueues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * @param generation from {@link #getGeneration()} when the listing the videos are in was asked for
+     * @param putIds the videos the task fills in, a lookup already waiting for one of them is replaced
+     */
+    public void schedule(int generation, Priority priority, Task task, long... putIds) {
+        synchronized (this) {
+            Job job = new Job(task, putIds, priority, generation);
+
+            if (generation != mGeneration) {
+                park(job);
+                return;
+            }
+
+            for (long putId : putIds) {
+                Job replaced = mQueued.put(putId, job);
+
+                if (replaced != null && replaced != job) {
+                    cancel(replaced);
+                }
+
+                mParked.remove(putId);
+            }
+
+            mQueues.get(priority).add(job);
+        }
+
+        drain();
+    }
+
+    /**
+     * The video's card is on screen, look it up before anything else that is waiting
+     */
+    public void prioritise(long putId) {
+        synchronized (this) {
+            Job job = mQueued.get(putId);
+
+            if (job == null) {
+                job = mParked.remove(putId);
+
+                if (job == null) {
+                    return;
+                }
+
+                for (long id : job.mPutIds) {
+                    mParked.remove(id);
+                    mQueued.put(id, job);
+                }
+            } else if (job.mPriority == Priority.VISIBLE) {
+                return;
+            }
+
+            // the entry in the old queue is skipped when it comes up //
+            job.mPriority = Priority.VISIBLE;
+            job.mGeneration = mGeneration;
+            mQueues.get(Priority.VISIBLE).add(job);
+        }
+
+        drain();
+    }
+
+    /**
+     * Put aside everything that hasn't started yet, called when a different folder is opened
+     */
+    public synchronized void newGeneration() {
+        mGeneration++;
+
+        for (Map.Entry<Long, Job> entry : mQueued.entrySet()) {
+            mParked.put(entry.getKey(), entry.getValue());
+        }
+
+        mParkedTotal += mQueued.size();
+        mQueued.clear();
+
+        for (ArrayDeque<Job> queue : mQueues.values()) {
+            queue.clear();
+        }
+
+        logStats();
+    }
+
+    public synchronized int getGeneration() {
+        return mGeneration;
+    }
+
+    /**
+     * Lookups waiting with the given priority
+     */
+    public synchronized int getQueueDepth(Priority priority) {
+        int depth = 0;
+
+        for (Job job : mQueues.get(priority)) {
+            if (job.isWaiting(priority)) {
+                depth++;
+            }
+        }
+
+        return depth;
+    }
+
+    public synchronized int getRunningCount() {
+        return mRunning;
+    }
+
+    public synchronized long getCompletedCount() {
+        return mCompleted;
+    }
+
+    /**
+     * Lookups that were put aside by a new generation
+     */
+    public synchronized long getParkedCount() {
+        return mParkedTotal;
+    }
+
+    private void drain() {
+        while (true) {
+            Job job;
+
+            synchronized (this) {
+                if (mRunning >= MAX_RUNNING) {
+                    return;
+                }
+
+                refill();
+
+                if (mTokens < 1) {
+                    scheduleDrain();
+                    return;
+                }
+
+                job = poll();
+
+                if (job == null) {
+                    return;
+                }
+
+                mTokens--;
+                mRunning++;
+            }
+
+            Async.run(() -> {
+                try {
+                    job.mTask.start(() -> finished(job));
+                } catch (RuntimeException e) {
+                    // it won't call done, don't let it hold a running slot //
+                    Log.e(TAG, "Lookup failed to start", e);
+                    finished(job);
+                }
+            });
+        }
+    }
+
+    private void finished(Job job) {
+        if (!job.mIsFinished.compareAndSet(false, true)) {
+            return;
+        }
+
+        synchronized (this) {
+            mRunning--;
+            mCompleted++;
+        }
+
+        drain();
+    }
+
+    private Job poll() {
+        for (Priority priority : Priority.values()) {
+            ArrayDeque<Job> queue = mQueues.get(priority);
+            Job job;
+
+            while ((job = queue.poll()) != null) {
+                if (job.isWaiting(priority) && job.mGeneration == mGeneration) {
+                    job.mIsStarted = true;
+
+                    for (long putId : job.mPutIds) {
+                        if (mQueued.get(putId) == job) {
+                            mQueued.remove(putId);
+                        }
+                    }
+
+                    return job;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Put aside a job from a generation that has passed, unless its videos are already waiting
+     * in the current one
+     */
+    private void park(Job job) {
+        for (long putId : job.mPutIds) {
+            if (!mQueued.containsKey(putId)) {
+                mParked.put(putId, job);
+                mParkedTotal++;
+            }
+        }
+    }
+
+    private void cancel(Job job) {
+        job.mIsCancelled = true;
+
+        for (long putId : job.mPutIds) {
+            if (mQueued.get(putId) == job) {
+                mQueued.remove(putId);
+            }
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsed = (double) (now - mRefilledAt) / TimeUnit.SECONDS.toNanos(1);
+
+        mTokens = Math.min(STARTS_PER_SECOND, mTokens + elapsed * STARTS_PER_SECOND);
+        mRefilledAt = now;
+    }
+
+    private void scheduleDrain() {
+        if (mIsDrainScheduled) {
+            return;
+        }
+
+        mIsDrainScheduled = true;
+        long delay = (long) Math.ceil((1 - mTokens) * 1000 / STARTS_PER_SECOND);
+
+        mMainHandler.postDelayed(() -> {
+            synchronized (this) {
+                mIsDrainScheduled = false;
+            }
+
+            drain();
+        }, delay);
+    }
+
+    private void logStats() {
+        Log.d(TAG, "generation: " + mGeneration
+                + " visible: " + getQueueDepth(Priority.VISIBLE)
+                + " next page: " + getQueueDepth(Priority.NEXT_PAGE)
+                + " background: " + getQueueDepth(Priority.BACKGROUND)
+                + " running: " + mRunning
+                + " completed: " + mCompleted
+                + " parked: " + mParkedTotal);
+    }
+
+    private static class Job {
+        private final Task mTask;
+        private final long[] mPutIds;
+        private final AtomicBoolean mIsFinished = new AtomicBoolean(false);
+        private Priority mPriority;
+        private int mGeneration;
+        private boolean mIsStarted = false;
+        private boolean mIsCancelled = false;
+
+        private Job(Task task, long[] putIds, Priority priority, int generation) {
+            mTask = task;
+            mPutIds = putIds;
+            mPriority = priority;
+            mGeneration = generation;
+        }
+
+        private boolean isWaiting(Priority priority) {
+            return !mIsStarted && !mIsCancelled && mPriority == priority;
+        }
+    }
+}
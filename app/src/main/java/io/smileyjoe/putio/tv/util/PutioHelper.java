@@ -2,19 +2,23 @@ package io.smileyjoe.putio.tv.util;
 
 import android.content.Context;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import io.smileyjoe.putio.tv.comparator.FolderComparator;
-import io.smileyjoe.putio.tv.db.AppDatabase;
+import io.smileyjoe.putio.tv.db.DatabaseWriter;
 import io.smileyjoe.putio.tv.interfaces.Folder;
 import io.smileyjoe.putio.tv.network.Tmdb;
 import io.smileyjoe.putio.tv.object.Directory;
 import io.smileyjoe.putio.tv.object.FileType;
+import io.smileyjoe.putio.tv.object.TmdbCache;
 import io.smileyjoe.putio.tv.object.Video;
+import io.smileyjoe.putio.tv.object.VideoType;
 import io.smileyjoe.putio.tv.object.VirtualDirectory;
 
 public class PutioHelper {
@@ -23,11 +27,34 @@ public class PutioHelper {
     private ArrayList<Video> mVideos;
     private Video mCurrent;
     private Context mContext;
+    private EnrichmentScheduler.Priority mPriority;
+    private int mGeneration;
+    private Set<Long> mSkipTmdb = Collections.emptySet();
+    // earlier matches for the listing being parsed, keyed by put title //
+    private Map<String, TmdbCache> mCachedMatches = Collections.emptyMap();
 
     public PutioHelper(Context context) {
-        mContext = context;
+        // lookups can outlive the screen that started them //
+        mContext = context.getApplicationContext();
         mFolders = new ArrayList<>();
         mVideos = new ArrayList<>();
+        mPriority = EnrichmentScheduler.Priority.NEXT_PAGE;
+        mGeneration = EnrichmentScheduler.getInstance().getGeneration();
+    }
+
+    /**
+     * How soon the TMDB lookups for the videos that are parsed are started
+     */
+    public void setPriority(EnrichmentScheduler.Priority priority) {
+        mPriority = priority;
+    }
+
+    /**
+     * The scheduler generation the listing was asked for in, lookups are put aside if the user has
+     * moved on since. Defaults to the generation when the helper was made.
+     */
+    public void setGeneration(int generation) {
+        mGeneration = generation;
     }
 
     public ArrayList<Video> getVideos() {
@@ -42,50 +69,52 @@ public class PutioHelper {
         return mCurrent;
     }
 
-    public void parse(long putId, JsonObject jsonObject) {
-        parse(putId, 0, jsonObject);
+    public void parse(long putId, PutioListingReader.Listing listing) {
+        parse(putId, 0, listing);
     }
 
-    public void parse(long putId, long parentTmdbId, JsonObject jsonObject) {
-        JsonArray filesJson = jsonObject.getAsJsonArray("files");
+    /**
+     * Parse a listing read by {@link PutioListingReader}
+     */
+    public void parse(long putId, long parentTmdbId, PutioListingReader.Listing listing) {
+        parse(putId, parentTmdbId, listing.getParent(), listing.getFiles());
+    }
 
-        try {
-            JsonObject parentObject = jsonObject.getAsJsonObject("parent");
-            mCurrent = VideoUtil.parseFromPut(mContext, parentObject);
-        } catch (ClassCastException e) {
+    private void parse(long putId, long parentTmdbId, Video parent, ArrayList<Video> files) {
+        if (parent != null) {
+            mCurrent = VideoUtil.mergeWithDb(mContext, parent);
+        } else {
             mCurrent = VirtualDirectory.getFromPutId(mContext, putId).asVideo();
         }
 
         if (mCurrent.getFileType() == FileType.FOLDER) {
 
-            ArrayList<Video> videos = VideoUtil.filter(VideoUtil.parseFromPut(mContext, filesJson));
+            ArrayList<Video> videos = VideoUtil.filter(VideoUtil.mergeWithDb(mContext, files));
 
             if (videos != null && videos.size() == 1) {
                 Video currentDbVideo = VideoUtil.getFromDbByPutId(mContext, mCurrent.getPutId());
 
                 if (currentDbVideo != null && currentDbVideo.isTmdbFound()) {
                     Video updated = VideoUtil.updateFromDb(videos.get(0), currentDbVideo);
-                    AppDatabase.getInstance(mContext).videoDao().insert(updated);
+                    DatabaseWriter.getInstance(mContext).insert(updated);
                 }
             }
 
-            for (Video video : videos) {
-                updateTmdb(mCurrent.getTmdbId(), video);
-            }
+            updateTmdb(videos);
         } else {
             Video currentDbVideo = VideoUtil.getFromDbByPutId(mContext, mCurrent.getPutId());
 
             if (currentDbVideo != null) {
                 if (currentDbVideo.isTmdbFound()) {
                     Video updated = VideoUtil.updateFromDb(mCurrent, currentDbVideo);
-                    AppDatabase.getInstance(mContext).videoDao().insert(updated);
+                    DatabaseWriter.getInstance(mContext).insert(updated);
                     mVideos.add(updated);
                 } else {
-                    AppDatabase.getInstance(mContext).videoDao().insert(mCurrent);
+                    DatabaseWriter.getInstance(mContext).insert(mCurrent);
                     updateTmdb(parentTmdbId, currentDbVideo);
                 }
             } else {
-                AppDatabase.getInstance(mContext).videoDao().insert(mCurrent);
+                DatabaseWriter.getInstance(mContext).insert(mCurrent);
                 updateTmdb(parentTmdbId, mCurrent);
             }
         }
@@ -94,12 +123,138 @@ public class PutioHelper {
         Collections.sort(mFolders, new FolderComparator());
     }
 
+    /**
+     * Parse a further page of the listing for a folder that has already been parsed
+     *
+     * @param files as read by {@link PutioListingReader}
+     */
+    public void parsePage(Video current, ArrayList<Video> files) {
+        mCurrent = current;
+
+        updateTmdb(VideoUtil.filter(VideoUtil.mergeWithDb(mContext, files)));
+
+        VideoUtil.sort(mVideos);
+        Collections.sort(mFolders, new FolderComparator());
+    }
+
+    /**
+     * Don't look these videos up on TMDB, something else already has
+     */
+    public void skipTmdb(Set<Long> putIds) {
+        mSkipTmdb = putIds;
+    }
+
+    private boolean needsTmdb(Video video) {
+        return !video.isTmdbChecked() && !mSkipTmdb.contains(video.getPutId());
+    }
+
+    private void updateTmdb(ArrayList<Video> videos) {
+        LinkedHashMap<List<Long>, ArrayList<Video>> episodes = new LinkedHashMap<>();
+        ArrayList<String> filenames = new ArrayList<>();
+
+        for (Video video : videos) {
+            if (video.getVideoType() != VideoType.EPISODE && needsTmdb(video)) {
+                filenames.add(video.getPutTitle());
+            }
+        }
+
+        // one read for the whole listing rather than one per video once its lookup starts //
+        mCachedMatches = filenames.isEmpty() ? Collections.emptyMap() : TmdbMatcher.checkCache(mContext, filenames);
+
+        for (Video video : videos) {
+            updateTmdb(mCurrent.getTmdbId(), video, episodes);
+        }
+
+        updateEpisodes(episodes);
+    }
+
     private void updateTmdb(long parentTmdbId, Video video) {
+        LinkedHashMap<List<Long>, ArrayList<Video>> episodes = new LinkedHashMap<>();
+
+        updateTmdb(parentTmdbId, video, episodes);
+        updateEpisodes(episodes);
+    }
+
+    /**
+     * Episodes of the same season are fetched with a single season request
+     *
+     * @param episodes keyed by parent tmdb id and season
+     */
+    private void updateEpisodes(LinkedHashMap<List<Long>, ArrayList<Video>> episodes) {
+        for (Map.Entry<List<Long>, ArrayList<Video>> entry : episodes.entrySet()) {
+            long parentTmdbId = entry.getKey().get(0);
+            int season = entry.getKey().get(1).intValue();
+            ArrayList<Video> videos = entry.getValue();
+
+            long[] putIds = new long[videos.size()];
+
+            for (int i = 0; i < videos.size(); i++) {
+                putIds[i] = videos.get(i).getPutId();
+            }
+
+            // a single request, so it only has to wait its turn to start //
+            EnrichmentScheduler.getInstance().schedule(mGeneration, mPriority, done -> {
+                // one episode is smaller on its own than the whole season //
+                if (videos.size() == 1) {
+                    Video video = videos.get(0);
+                    TmdbUtil.OnTmdbResponse response = new TmdbUtil.OnTmdbResponse(mContext, video);
+                    Tmdb.Series.getEpisode(mContext, parentTmdbId, season, video.getEpisode(), response);
+                } else {
+                    Tmdb.Series.getSeason(mContext, parentTmdbId, season, new TmdbUtil.OnTmdbSeasonResponse(mContext, videos));
+                }
+
+                done.run();
+            }, putIds);
+        }
+    }
+
+    private void findBestMatch(Video video, TmdbMatcher.OnMatchListener listener) {
+        TmdbCache cached = mCachedMatches.get(video.getPutTitle());
+
+        if (cached != null && cached.isNegative()) {
+            // nothing to ask TMDB, so no need to wait for a turn //
+            listener.onNoMatch();
+            return;
+        } else if (cached != null) {
+            EnrichmentScheduler.getInstance().schedule(mGeneration, mPriority, done -> {
+                done.run();
+                listener.onMatch(TmdbMatcher.fromCache(cached));
+            }, video.getPutId());
+            return;
+        }
+
+        EnrichmentScheduler.getInstance().schedule(mGeneration, mPriority, done -> TmdbMatcher.findBestMatch(mContext, video.getPutTitle(), video.getTitle(), video.getYear(),
+                new TmdbMatcher.OnMatchListener() {
+                    @Override
+                    public void onMatch(TmdbMatcher.MatchResult result) {
+                        done.run();
+                        listener.onMatch(result);
+                    }
+
+                    @Override
+                    public void onNoMatch() {
+                        done.run();
+                        listener.onNoMatch();
+                    }
+                }), video.getPutId());
+    }
+
+    /**
+     * Stored as a copy, the video itself may already be on screen
+     */
+    private void saveNoMatch(Video video) {
+        Video checked = video.copy();
+        checked.isTmdbChecked(true);
+        checked.isTmdbFound(false);
+        DatabaseWriter.getInstance(mContext).insert(checked);
+    }
+
+    private void updateTmdb(long parentTmdbId, Video video, LinkedHashMap<List<Long>, ArrayList<Video>> episodes) {
         switch (video.getVideoType()) {
             case MOVIE:
-                if (!video.isTmdbChecked()) {
+                if (needsTmdb(video)) {
                     // Use hybrid matcher for better accuracy
-                    TmdbMatcher.findBestMatch(mContext, video.getPutTitle(), video.getTitle(), video.getYear(),
+                    findBestMatch(video,
                             new TmdbMatcher.OnMatchListener() {
                                 @Override
                                 public void onMatch(TmdbMatcher.MatchResult result) {
@@ -114,28 +269,32 @@ public class PutioHelper {
 
                                 @Override
                                 public void onNoMatch() {
-                                    video.isTmdbChecked(true);
-                                    video.isTmdbFound(false);
-                                    Async.run(() -> {
-                                        AppDatabase.getInstance(mContext).videoDao().insert(video);
-                                    });
+                                    saveNoMatch(video);
                                 }
                             });
                 }
                 mVideos.add(video);
                 break;
             case EPISODE:
-                if (!video.isTmdbChecked() && parentTmdbId > 0) {
+                if (needsTmdb(video) && parentTmdbId > 0) {
                     video.setParentTmdbId(parentTmdbId);
-                    TmdbUtil.OnTmdbResponse response = new TmdbUtil.OnTmdbResponse(mContext, video);
-                    Tmdb.Series.getEpisode(mContext, parentTmdbId, video.getSeason(), video.getEpisode(), response);
+
+                    List<Long> key = Arrays.asList(parentTmdbId, (long) video.getSeason());
+                    ArrayList<Video> season = episodes.get(key);
+
+                    if (season == null) {
+                        season = new ArrayList<>();
+                        episodes.put(key, season);
+                    }
+
+                    season.add(video);
                 }
                 mVideos.add(video);
                 break;
             case SEASON:
-                if (!video.isTmdbChecked()) {
+                if (needsTmdb(video)) {
                     // Use hybrid matcher for series as well
-                    TmdbMatcher.findBestMatch(mContext, video.getPutTitle(), video.getTitle(), video.getYear(),
+                    findBestMatch(video,
                             new TmdbMatcher.OnMatchListener() {
                                 @Override
                                 public void onMatch(TmdbMatcher.MatchResult result) {
@@ -151,11 +310,7 @@ public class PutioHelper {
 
                                 @Override
                                 public void onNoMatch() {
-                                    video.isTmdbChecked(true);
-                                    video.isTmdbFound(false);
-                                    Async.run(() -> {
-                                        AppDatabase.getInstance(mContext).videoDao().insert(video);
-                                    });
+                                    saveNoMatch(video);
                                 }
                             });
                 }
@@ -165,8 +320,8 @@ public class PutioHelper {
                 switch (video.getFileType()) {
                     case VIDEO:
                         // Use hybrid matcher for unknown videos (could be movie or series)
-                        if (!video.isTmdbChecked()) {
-                            TmdbMatcher.findBestMatch(mContext, video.getPutTitle(), video.getTitle(), video.getYear(),
+                        if (needsTmdb(video)) {
+                            findBestMatch(video,
                                     new TmdbMatcher.OnMatchListener() {
                                         @Override
                                         public void onMatch(TmdbMatcher.MatchResult result) {
@@ -180,11 +335,7 @@ public class PutioHelper {
 
                                         @Override
                                         public void onNoMatch() {
-                                            video.isTmdbChecked(true);
-                                            video.isTmdbFound(false);
-                                            Async.run(() -> {
-                                                AppDatabase.getInstance(mContext).videoDao().insert(video);
-                                            });
+                                            saveNoMatch(video);
                                         }
                                     });
                         }
@@ -0,0 +1,192 @@
+package io.smileyjoe.putio.tv.util;
+
+import android.text.TextUtils;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import io.smileyjoe.putio.tv.object.Video;
+
+/**
+ * Streams a put.io listing straight into {@link Video} objects, fields the app doesn't use are skipped
+ * so large folders are never held in memory as a json tree.
+ * Values are mapped the same way as {@link VideoUtil#fromPut(com.google.gson.JsonObject)}.
+ */
+public class PutioListingReader {
+
+    public static class Listing {
+        private Video mParent;
+        private ArrayList<Video> mFiles = new ArrayList<>();
+        private String mCursor;
+
+        private Listing() {
+        }
+
+        /**
+         * A listing that didn't come from a response, like a stored one
+         */
+        public Listing(Video parent, ArrayList<Video> files) {
+            mParent = parent;
+            mFiles = files;
+        }
+
+        /**
+         * Add the files of the next page, the cursor becomes the one for the page after it
+         */
+        public void addPage(Listing page) {
+            mFiles.addAll(page.mFiles);
+            mCursor = page.mCursor;
+        }
+
+        public Video getParent() {
+            return mParent;
+        }
+
+        public ArrayList<Video> getFiles() {
+            return mFiles;
+        }
+
+        public String getCursor() {
+            return mCursor;
+        }
+    }
+
+    private PutioListingReader() {
+    }
+
+    public static Listing read(InputStream inputStream) throws IOException {
+        Listing listing = new Listing();
+
+        try (JsonReader reader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            reader.beginObject();
+
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+
+                switch (name) {
+                    case "parent":
+                        listing.mParent = readVideo(reader);
+                        break;
+                    case "files":
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            listing.mFiles.add(readVideo(reader));
+                        }
+                        reader.endArray();
+                        break;
+                    case "cursor":
+                        listing.mCursor = reader.nextString();
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+
+            reader.endObject();
+        }
+
+        return listing;
+    }
+
+    private static Video readVideo(JsonReader reader) throws IOException {
+        Video video = new Video();
+        // same defaults JsonUtil gives for missing values //
+        long putId = -1;
+        long parentPutId = -1;
+        long size = -1;
+        long resumeTime = -1;
+        boolean isConverted = false;
+        String name = null;
+        String screenshot = null;
+        String fileType = null;
+        String createdAt = null;
+        String updatedAt = null;
+        String firstAccessedAt = null;
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+
+            switch (field) {
+                case "id":
+                    putId = reader.nextLong();
+                    break;
+                case "parent_id":
+                    parentPutId = reader.nextLong();
+                    break;
+                case "name":
+                    name = reader.nextString();
+                    break;
+                case "screenshot":
+                    screenshot = reader.nextString();
+                    break;
+                case "is_mp4_available":
+                    isConverted = reader.nextBoolean();
+                    break;
+                case "file_type":
+                    fileType = reader.nextString();
+                    break;
+                case "stream_url":
+                    video.setStreamUri(reader.nextString());
+                    break;
+                case "mp4_stream_url":
+                    video.setStreamMp4Uri(reader.nextString());
+                    break;
+                case "size":
+                    size = reader.nextLong();
+                    break;
+                case "created_at":
+                    createdAt = reader.nextString();
+                    break;
+                case "updated_at":
+                    updatedAt = reader.nextString();
+                    break;
+                case "start_from":
+                    resumeTime = reader.nextLong();
+                    break;
+                case "first_accessed_at":
+                    firstAccessedAt = reader.nextString();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+
+        reader.endObject();
+
+        video.setPutId(putId);
+        video.setParentPutId(parentPutId);
+        video.setPutTitle(name);
+        video.setTitle(name);
+        video.setBackdrop(screenshot);
+        video.setPoster(screenshot);
+        video.setConverted(isConverted);
+        video.setFileType(fileType);
+        video.setSize(size);
+        video.setCreatedAt(createdAt);
+        video.setUpdatedAt(updatedAt);
+        video.setResumeTime(resumeTime);
+        video.setWatched(!TextUtils.isEmpty(firstAccessedAt));
+
+        return video;
+    }
+}
@@ -6,6 +6,7 @@ import android.content.SharedPreferences;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -13,7 +14,7 @@ import io.smileyjoe.putio.tv.BuildConfig;
 import io.smileyjoe.putio.tv.db.AppDatabase;
 import io.smileyjoe.putio.tv.network.Putio;
 import io.smileyjoe.putio.tv.network.Response;
-import io.smileyjoe.putio.tv.object.Group;
+import io.smileyjoe.putio.tv.object.GroupMember;
 import io.smileyjoe.putio.tv.ui.adapter.VideosAdapter;
 
 public class Settings {
@@ -28,6 +29,8 @@ public class Settings {
     private static final String KEY_VIDEO_NUM_COLS = "video_num_cols";
     private static final String KEY_GROUP_ENABLED = "group_enabled_";
     private static final String KEY_GROUP_PUT_IDS = "group_put_ids_";
+    private static final String KEY_FILES_PER_PAGE = "files_per_page";
+    private static final int DEFAULT_FILES_PER_PAGE = 100;
     public static final String KEY_LAST_PUT_UPDATE = "last_config_update";
 
     private SharedPreferences mPrefs;
@@ -86,6 +89,14 @@ public class Settings {
         return mPrefs.getInt(KEY_VIDEO_NUM_COLS, 7);
     }
 
+    public void setFilesPerPage(int perPage) {
+        mPrefs.edit().putInt(KEY_FILES_PER_PAGE, perPage).apply();
+    }
+
+    public int getFilesPerPage() {
+        return mPrefs.getInt(KEY_FILES_PER_PAGE, DEFAULT_FILES_PER_PAGE);
+    }
+
     public long updateLastPutUpdate() {
         long millies = System.currentTimeMillis();
         mPrefs.edit().putLong(KEY_LAST_PUT_UPDATE, millies).apply();
@@ -101,8 +112,8 @@ public class Settings {
         Putio.Config.save(context, KEY_GROUP_ENABLED + Long.toString(id), isEnabled);
     }
 
-    public void saveGroupPutIds(Context context, Group group) {
-        Putio.Config.save(context, KEY_GROUP_PUT_IDS + Long.toString(group.getId()), group.getPutIdsJson());
+    public void saveGroupPutIds(Context context, int groupId, List<Long> putIds) {
+        Putio.Config.save(context, KEY_GROUP_PUT_IDS + Long.toString(groupId), GroupMember.toJson(putIds));
     }
 
     public static void restore(Context context, RestoreListener restoreListener) {
@@ -138,7 +149,7 @@ public class Settings {
                                     } else if (entry.getKey().contains(KEY_GROUP_PUT_IDS)) {
                                         try {
                                             int id = Integer.parseInt(entry.getKey().replace(KEY_GROUP_PUT_IDS, "").trim());
-                                            AppDatabase.getInstance(context).groupDao().updatePutIds(id, entry.getValue().getAsString());
+                                            AppDatabase.getInstance(context).groupMemberDao().replace(id, GroupMember.fromJson(entry.getValue().getAsString()));
                                         } catch (NumberFormatException e) {
                                             // do nothing, the setting just won't be restored //
                                         }
@@ -0,0 +1,248 @@
+package io.smileyjoe.putio.tv.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Case insensitive Levenshtein similarity between two titles, the same score as
+ * 1 - distance / longest length.
+ * Titles up to 64 chars use Myers' bit-parallel algorithm, longer ones the classic single row.
+ * Scratch space is kept per thread so scoring doesn't allocate.
+ */
+public class TitleScorer {
+
+    /**
+     * Returned when the score is below the minimum that was asked for
+     */
+    public static final double NO_SCORE = -1.0;
+
+    private static final int WORD_SIZE = 64;
+    private static final int ASCII_SIZE = 128;
+    // lets a score that sits exactly on the minimum through despite rounding //
+    private static final double EPSILON = 1e-9;
+
+    private static final ThreadLocal<Scratch> sScratch = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch();
+        }
+    };
+
+    private TitleScorer() {
+    }
+
+    /**
+     * @param minScore stop as soon as the score can't reach this
+     * @return score between 0.0 and 1.0, or {@link #NO_SCORE} when it is below minScore
+     */
+    public static double score(String queryTitle, String resultTitle, double minScore) {
+        if (isEmpty(queryTitle) || isEmpty(resultTitle)) {
+            return minScore <= 0.0 ? 0.0 : NO_SCORE;
+        }
+
+        int maxLen = Math.max(queryTitle.length(), resultTitle.length());
+        int maxDistance = (int) Math.floor((1.0 - minScore) * maxLen + EPSILON);
+
+        // the lengths that are compared can change when lower cased //
+        if (hasMultiCharLowerCase(queryTitle) || hasMultiCharLowerCase(resultTitle)) {
+            queryTitle = queryTitle.toLowerCase(Locale.ROOT);
+            resultTitle = resultTitle.toLowerCase(Locale.ROOT);
+        }
+
+        // a difference in length is a lower bound of the distance //
+        if (Math.abs(queryTitle.length() - resultTitle.length()) > maxDistance) {
+            return NO_SCORE;
+        }
+
+        int distance = distance(queryTitle, resultTitle, maxDistance);
+
+        if (distance > maxDistance) {
+            return NO_SCORE;
+        }
+
+        return 1.0 - ((double) distance / maxLen);
+    }
+
+    /**
+     * @return the distance, or something above maxDistance once it is certain to be more than that
+     */
+    static int distance(String one, String two, int maxDistance) {
+        // these don't lower case char by char so they go the slow way to match String.toLowerCase //
+        if (hasMultiCharLowerCase(one) || hasMultiCharLowerCase(two)) {
+            one = one.toLowerCase(Locale.ROOT);
+            two = two.toLowerCase(Locale.ROOT);
+        }
+
+        String pattern = one.length() <= two.length() ? one : two;
+        String text = pattern == one ? two : one;
+
+        if (pattern.isEmpty()) {
+            return text.length();
+        }
+
+        Scratch scratch = sScratch.get();
+
+        if (pattern.length() <= WORD_SIZE) {
+            return myers(scratch, pattern, text, maxDistance);
+        } else {
+            return singleRow(scratch, pattern, text, maxDistance);
+        }
+    }
+
+    private static int myers(Scratch scratch, String pattern, String text, int maxDistance) {
+        int m = pattern.length();
+        long high = 1L << (m - 1);
+
+        scratch.setPattern(pattern);
+
+        long pv = -1L;
+        long mv = 0L;
+        int distance = m;
+        int n = text.length();
+
+        for (int j = 0; j < n; j++) {
+            long eq = scratch.getMask(Character.toLowerCase(text.charAt(j)));
+            long xv = eq | mv;
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+
+            if ((ph & high) != 0) {
+                distance++;
+            } else if ((mh & high) != 0) {
+                distance--;
+            }
+
+            // each remaining char can lower the distance by one at most //
+            if (distance - (n - j - 1) > maxDistance) {
+                scratch.clearPattern(pattern);
+                return distance - (n - j - 1);
+            }
+
+            ph = (ph << 1) | 1L;
+            mh = mh << 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+        }
+
+        scratch.clearPattern(pattern);
+
+        return distance;
+    }
+
+    private static int singleRow(Scratch scratch, String pattern, String text, int maxDistance) {
+        int[] costs = scratch.getCosts(text.length() + 1);
+
+        for (int j = 0; j <= text.length(); j++) {
+            costs[j] = j;
+        }
+
+        for (int i = 1; i <= pattern.length(); i++) {
+            char a = Character.toLowerCase(pattern.charAt(i - 1));
+            int rowMin = i;
+
+            costs[0] = i;
+            int nw = i - 1;
+
+            for (int j = 1; j <= text.length(); j++) {
+                int cj = Math.min(Math.min(costs[j] + 1, costs[j - 1] + 1),
+                        a == Character.toLowerCase(text.charAt(j - 1)) ? nw : nw + 1);
+                nw = costs[j];
+                costs[j] = cj;
+                rowMin = Math.min(rowMin, cj);
+            }
+
+            // the distance never drops below the smallest value in a row //
+            if (rowMin > maxDistance) {
+                return rowMin;
+            }
+        }
+
+        return costs[text.length()];
+    }
+
+    // kept off TextUtils so the scorer runs on a plain JVM //
+    private static boolean isEmpty(String string) {
+        return string == null || string.length() == 0;
+    }
+
+    private static boolean hasMultiCharLowerCase(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+
+            if (c == '\u0130' || c == '\u03A3' || Character.isSurrogate(c)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static class Scratch {
+        private final long[] mAscii = new long[ASCII_SIZE];
+        private final char[] mOtherChars = new char[WORD_SIZE];
+        private final long[] mOtherMasks = new long[WORD_SIZE];
+        private int mOtherCount = 0;
+        private int[] mCosts = new int[WORD_SIZE * 2];
+
+        private void setPattern(String pattern) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = Character.toLowerCase(pattern.charAt(i));
+                long bit = 1L << i;
+
+                if (c < ASCII_SIZE) {
+                    mAscii[c] |= bit;
+                } else {
+                    int index = indexOfOther(c);
+
+                    if (index < 0) {
+                        index = mOtherCount++;
+                        mOtherChars[index] = c;
+                        mOtherMasks[index] = 0L;
+                    }
+
+                    mOtherMasks[index] |= bit;
+                }
+            }
+        }
+
+        private void clearPattern(String pattern) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = Character.toLowerCase(pattern.charAt(i));
+
+                if (c < ASCII_SIZE) {
+                    mAscii[c] = 0L;
+                }
+            }
+
+            mOtherCount = 0;
+        }
+
+        private long getMask(char c) {
+            if (c < ASCII_SIZE) {
+                return mAscii[c];
+            }
+
+            int index = indexOfOther(c);
+            return index < 0 ? 0L : mOtherMasks[index];
+        }
+
+        private int indexOfOther(char c) {
+            for (int i = 0; i < mOtherCount; i++) {
+                if (mOtherChars[i] == c) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        private int[] getCosts(int size) {
+            if (mCosts.length < size) {
+                mCosts = Arrays.copyOf(mCosts, Math.max(size, mCosts.length * 2));
+            }
+
+            return mCosts;
+        }
+    }
+}
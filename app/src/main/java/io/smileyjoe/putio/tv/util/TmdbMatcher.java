@@ -6,19 +6,29 @@ import android.text.TextUtils;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.koushikdutta.async.future.Cancellable;
 
 import java.security.MessageDigest;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import io.smileyjoe.putio.tv.db.AppDatabase;
+import io.smileyjoe.putio.tv.db.DatabaseWriter;
+import io.smileyjoe.putio.tv.db.TmdbCacheDao;
 import io.smileyjoe.putio.tv.network.Response;
 import io.smileyjoe.putio.tv.network.Tmdb;
+import io.smileyjoe.putio.tv.object.ParsedName;
 import io.smileyjoe.putio.tv.object.TmdbCache;
+import io.smileyjoe.putio.tv.torrent.ParsedNameCache;
 import io.smileyjoe.putio.tv.util.Async;
 
 /**
@@ -34,6 +44,18 @@ public class TmdbMatcher {
     ));
 
     private static final double MIN_MATCH_SCORE = 0.6;
+    // a result this close is taken without waiting for the other searches //
+    private static final double HIGH_CONFIDENCE_SCORE = 0.95;
+    private static final int MAX_CONCURRENT_SEARCHES = 4;
+    private static final long MAX_AGE = TimeUnit.DAYS.toMillis(180);
+    // misses are kept for less time, TMDB gains new titles and the matcher gets better //
+    private static final long NEGATIVE_MAX_AGE = TimeUnit.DAYS.toMillis(14);
+    private static final long NEGATIVE_RETRY_AFTER = TimeUnit.DAYS.toMillis(3);
+    private static final long SWEEP_INTERVAL = TimeUnit.HOURS.toMillis(12);
+    // SQLite allows 999 bound arguments per statement on older devices //
+    private static final int MAX_QUERY_ARGS = 900;
+
+    private static long sLastSweep = 0;
 
     /**
      * Result from TMDB matching
@@ -135,50 +157,6 @@ public class TmdbMatcher {
         return null;
     }
 
-    /**
-     * Calculate Levenshtein distance between two strings
-     */
-    private static int levenshteinDistance(String s1, String s2) {
-        String a = s1.toLowerCase(Locale.ROOT);
-        String b = s2.toLowerCase(Locale.ROOT);
-
-        int[] costs = new int[b.length() + 1];
-        for (int j = 0; j < costs.length; j++) {
-            costs[j] = j;
-        }
-
-        for (int i = 1; i <= a.length(); i++) {
-            costs[0] = i;
-            int nw = i - 1;
-            for (int j = 1; j <= b.length(); j++) {
-                int cj = Math.min(Math.min(costs[j] + 1, costs[j - 1] + 1),
-                                  a.charAt(i - 1) == b.charAt(j - 1) ? nw : nw + 1);
-                nw = costs[j];
-                costs[j] = cj;
-            }
-        }
-
-        return costs[b.length()];
-    }
-
-    /**
-     * Calculate match score (0.0 to 1.0) based on Levenshtein distance
-     */
-    private static double calculateMatchScore(String queryTitle, String resultTitle) {
-        if (TextUtils.isEmpty(queryTitle) || TextUtils.isEmpty(resultTitle)) {
-            return 0.0;
-        }
-
-        int distance = levenshteinDistance(queryTitle, resultTitle);
-        int maxLen = Math.max(queryTitle.length(), resultTitle.length());
-
-        if (maxLen == 0) {
-            return 1.0;
-        }
-
-        return 1.0 - ((double) distance / maxLen);
-    }
-
     /**
      * Score a single search result
      */
@@ -188,22 +166,11 @@ public class TmdbMatcher {
         double matchScore;
         double popularity;
 
-        ScoredResult(JsonObject result, String contentType, String queryTitle) {
+        ScoredResult(JsonObject result, String contentType, double matchScore, double popularity) {
             this.result = result;
             this.contentType = contentType;
-
-            JsonUtil json = new JsonUtil(result);
-            String resultTitle = contentType.equals("movie")
-                    ? json.getString("title")
-                    : json.getString("name");
-
-            this.matchScore = calculateMatchScore(queryTitle, resultTitle);
-            // Get popularity as double (JsonUtil doesn't have getDouble, so use direct access)
-            try {
-                this.popularity = result.has("popularity") ? result.get("popularity").getAsDouble() : 0.0;
-            } catch (Exception e) {
-                this.popularity = 0.0;
-            }
+            this.matchScore = matchScore;
+            this.popularity = popularity;
         }
 
         boolean isGoodMatch() {
@@ -211,38 +178,52 @@ public class TmdbMatcher {
         }
     }
 
+    private static String getResultTitle(JsonObject result, String contentType) {
+        JsonElement title = result.get(contentType.equals("movie") ? "title" : "name");
+        return title != null && title.isJsonPrimitive() ? title.getAsString() : null;
+    }
+
+    private static double getPopularity(JsonObject result) {
+        try {
+            JsonElement popularity = result.get("popularity");
+            return popularity != null && popularity.isJsonPrimitive() ? popularity.getAsDouble() : 0.0;
+        } catch (Exception e) {
+            return 0.0;
+        }
+    }
+
     /**
      * Find best match from combined movie + series results
      */
     private static ScoredResult findBestMatch(JsonArray movieResults, JsonArray seriesResults, String queryTitle) {
-        List<ScoredResult> allResults = new ArrayList<>();
+        ScoredResult best = findBestMatch(null, movieResults, "movie", queryTitle);
+        return findBestMatch(best, seriesResults, "tv", queryTitle);
+    }
 
-        // Score movie results
-        if (movieResults != null) {
-            for (JsonElement element : movieResults) {
-                allResults.add(new ScoredResult(element.getAsJsonObject(), "movie", queryTitle));
-            }
+    private static ScoredResult findBestMatch(ScoredResult best, JsonArray results, String contentType, String queryTitle) {
+        if (results == null) {
+            return best;
         }
 
-        // Score series results
-        if (seriesResults != null) {
-            for (JsonElement element : seriesResults) {
-                allResults.add(new ScoredResult(element.getAsJsonObject(), "tv", queryTitle));
-            }
-        }
+        for (JsonElement element : results) {
+            JsonObject result = element.getAsJsonObject();
+            // anything below the current best can be dropped without working out its full distance //
+            double minScore = best == null ? MIN_MATCH_SCORE : Math.max(MIN_MATCH_SCORE, best.matchScore);
+            double matchScore = TitleScorer.score(queryTitle, getResultTitle(result, contentType), minScore);
 
-        // Find best match
-        ScoredResult best = null;
-        for (ScoredResult result : allResults) {
-            if (!result.isGoodMatch()) {
+            if (matchScore == TitleScorer.NO_SCORE) {
                 continue;
             }
 
-            if (best == null || result.matchScore > best.matchScore) {
-                best = result;
-            } else if (result.matchScore == best.matchScore && result.popularity > best.popularity) {
+            if (best == null || matchScore > best.matchScore) {
+                best = new ScoredResult(result, contentType, matchScore, getPopularity(result));
+            } else if (matchScore == best.matchScore) {
                 // Tiebreaker: use popularity
-                best = result;
+                double popularity = getPopularity(result);
+
+                if (popularity > best.popularity) {
+                    best = new ScoredResult(result, contentType, matchScore, popularity);
+                }
             }
         }
 
@@ -252,7 +233,7 @@ public class TmdbMatcher {
     /**
      * Generate cache key from filename
      */
-    private static String getCacheKey(String filename) {
+    public static String getCacheKey(String filename) {
         try {
             MessageDigest digest = MessageDigest.getInstance("MD5");
             byte[] hash = digest.digest(filename.getBytes("UTF-8"));
@@ -269,24 +250,80 @@ public class TmdbMatcher {
     }
 
     /**
-     * Check cache for previous match
+     * Check cache for previous match, a negative entry is only returned until it is due a retry.
+     * Matches that are still waiting to be written are checked first.
      */
-    private static MatchResult checkCache(Context context, String filename) {
+    private static TmdbCache checkCache(Context context, String filename) {
         String cacheKey = getCacheKey(filename);
-        TmdbCache cached = AppDatabase.getInstance(context).tmdbCacheDao().getByFilenameHash(cacheKey);
-
-        if (cached != null) {
-            MatchResult result = new MatchResult(
-                    cached.getTmdbId(),
-                    cached.getContentType(),
-                    cached.getMatchedTitle(),
-                    cached.getMatchScore()
-            );
-            result.fromCache = true;
-            return result;
+        TmdbCache cached = DatabaseWriter.getInstance(context).getTmdbCache(cacheKey);
+
+        if (cached == null) {
+            cached = AppDatabase.getInstance(context).tmdbCacheDao().getByFilenameHash(cacheKey);
         }
 
-        return null;
+        return isUsable(cached) ? cached : null;
+    }
+
+    /**
+     * Same as {@link #checkCache(Context, String)} for every filename in a listing, read in bulk.
+     * Must not be called on the main thread.
+     *
+     * @return keyed by filename, filenames without a usable entry are left out
+     */
+    public static HashMap<String, TmdbCache> checkCache(Context context, Collection<String> filenames) {
+        HashMap<String, String> byKey = new HashMap<>();
+        HashMap<String, TmdbCache> cached = new HashMap<>();
+
+        for (String filename : filenames) {
+            if (!TextUtils.isEmpty(filename)) {
+                String cacheKey = getCacheKey(filename);
+                TmdbCache pending = DatabaseWriter.getInstance(context).getTmdbCache(cacheKey);
+
+                if (pending == null) {
+                    byKey.put(cacheKey, filename);
+                } else if (isUsable(pending)) {
+                    cached.put(filename, pending);
+                }
+            }
+        }
+
+        TmdbCacheDao dao = AppDatabase.getInstance(context).tmdbCacheDao();
+        List<String> keys = new ArrayList<>(byKey.keySet());
+
+        for (int i = 0; i < keys.size(); i += MAX_QUERY_ARGS) {
+            // newest first, so the first entry for a filename is the one that counts //
+            for (TmdbCache entry : dao.getByFilenameHashes(keys.subList(i, Math.min(i + MAX_QUERY_ARGS, keys.size())))) {
+                String filename = byKey.remove(entry.getFilenameHash());
+
+                if (filename != null && isUsable(entry)) {
+                    cached.put(filename, entry);
+                }
+            }
+        }
+
+        return cached;
+    }
+
+    /**
+     * A negative entry stops being used once it is due a retry
+     */
+    private static boolean isUsable(TmdbCache cached) {
+        return cached != null && !(cached.isNegative() && cached.getRetryAfter() <= System.currentTimeMillis());
+    }
+
+    /**
+     * The match a positive cache entry was saved from
+     */
+    public static MatchResult fromCache(TmdbCache cached) {
+        MatchResult result = new MatchResult(
+                cached.getTmdbId(),
+                cached.getContentType(),
+                cached.getMatchedTitle(),
+                cached.getMatchScore()
+        );
+        result.fromCache = true;
+
+        return result;
     }
 
     /**
@@ -301,7 +338,42 @@ public class TmdbMatcher {
         cache.setMatchScore(match.matchScore);
         cache.setTimestamp(System.currentTimeMillis());
 
-        AppDatabase.getInstance(context).tmdbCacheDao().insert(cache);
+        DatabaseWriter.getInstance(context).replace(cache);
+    }
+
+    /**
+     * Remember that nothing matched so the same filename isn't searched again until the retry is due
+     */
+    private static void saveNoMatchToCache(Context context, String filename) {
+        long now = System.currentTimeMillis();
+
+        TmdbCache cache = new TmdbCache();
+        cache.setFilenameHash(getCacheKey(filename));
+        cache.setNegative(true);
+        cache.setTimestamp(now);
+        cache.setRetryAfter(now + NEGATIVE_RETRY_AFTER);
+
+        DatabaseWriter.getInstance(context).replace(cache);
+    }
+
+    /**
+     * Drop matches past their age, at most once every {@link #SWEEP_INTERVAL}.
+     * Must not be called on the main thread.
+     */
+    public static void sweepCache(Context context) {
+        long now = System.currentTimeMillis();
+
+        synchronized (TmdbMatcher.class) {
+            if (now - sLastSweep < SWEEP_INTERVAL) {
+                return;
+            }
+
+            sLastSweep = now;
+        }
+
+        TmdbCacheDao dao = AppDatabase.getInstance(context).tmdbCacheDao();
+        dao.deleteOlderThan(now - MAX_AGE);
+        dao.deleteNegativeOlderThan(now - NEGATIVE_MAX_AGE);
     }
 
     /**
@@ -323,114 +395,108 @@ public class TmdbMatcher {
      */
     public static void findBestMatch(Context context, String filename, String title, int year, OnMatchListener listener) {
         // Check cache first
-        MatchResult cached = checkCache(context, filename);
-        if (cached != null) {
+        TmdbCache cached = checkCache(context, filename);
+        if (cached != null && cached.isNegative()) {
+            android.util.Log.d(TAG, "Cached no match for: " + filename);
+            listener.onNoMatch();
+            return;
+        } else if (cached != null) {
             android.util.Log.d(TAG, "Cache hit for: " + filename);
-            listener.onMatch(cached);
+            listener.onMatch(fromCache(cached));
             return;
         }
 
-        // Generate candidates
-        List<String> candidates = generateCandidates(title);
+        // Generate candidates, the parsed name memo already has them when the title came from the filename
+        ParsedName parsed = ParsedNameCache.getInstance().get(context, filename);
+        List<String> candidates = TextUtils.equals(parsed.getTitle(), title)
+                ? parsed.getCandidates()
+                : generateCandidates(title);
         android.util.Log.d(TAG, "Generated " + candidates.size() + " candidates for: " + title);
         for (String candidate : candidates) {
             android.util.Log.d(TAG, "  - " + candidate);
         }
 
-        // Search using first candidate only (lean approach - keep API calls minimal)
-        // Full candidate search can be added later if needed
-        String searchTitle = candidates.get(0);
-
-        // Execute hybrid search: both movie AND series in parallel
-        HybridSearchHandler handler = new HybridSearchHandler(context, filename, searchTitle, year, listener);
+        // Execute hybrid search: movie AND series for every candidate in parallel
+        HybridSearchHandler handler = new HybridSearchHandler(context, filename, candidates, year, listener);
         handler.execute();
     }
 
     /**
-     * Handles parallel movie + series search and scoring
+     * Handles parallel movie + series searches for every candidate and scoring.
+     * Stops the searches that are still running once one result is a confident match.
      */
     private static class HybridSearchHandler {
         private Context context;
         private String filename;
-        private String searchTitle;
         private int year;
         private OnMatchListener listener;
 
-        private JsonArray movieResults;
-        private JsonArray seriesResults;
-        private boolean movieSearchComplete = false;
-        private boolean seriesSearchComplete = false;
+        private final List<Search> searches = new ArrayList<>();
+        private ScoredResult best;
+        private int remaining;
+        private boolean hasFailed = false;
+        private boolean isFinished = false;
 
-        HybridSearchHandler(Context context, String filename, String searchTitle, int year, OnMatchListener listener) {
+        HybridSearchHandler(Context context, String filename, List<String> candidates, int year, OnMatchListener listener) {
             this.context = context;
             this.filename = filename;
-            this.searchTitle = searchTitle;
             this.year = year;
             this.listener = listener;
+
+            for (String candidate : new LinkedHashSet<>(candidates)) {
+                if (!TextUtils.isEmpty(candidate)) {
+                    searches.add(new Search(this, candidate, "movie"));
+                    searches.add(new Search(this, candidate, "tv"));
+                }
+            }
+
+            remaining = searches.size();
         }
 
         void execute() {
-            // Search both movie and series in parallel
-            Tmdb.Movie.search(context, searchTitle, year, new Response() {
-                @Override
-                public void onSuccess(JsonObject result) {
-                    synchronized (HybridSearchHandler.this) {
-                        movieResults = result.has("results") ? result.getAsJsonArray("results") : null;
-                        movieSearchComplete = true;
-                        checkComplete();
-                    }
-                }
+            if (searches.isEmpty()) {
+                listener.onNoMatch();
+                return;
+            }
 
-                @Override
-                public void onFail(Exception e) {
-                    synchronized (HybridSearchHandler.this) {
-                        movieResults = null;
-                        movieSearchComplete = true;
-                        checkComplete();
-                    }
-                }
-            });
+            for (Search search : searches) {
+                SearchQueue.enqueue(search);
+            }
+        }
 
-            Tmdb.Series.search(context, searchTitle, year, new Response() {
-                @Override
-                public void onSuccess(JsonObject result) {
-                    synchronized (HybridSearchHandler.this) {
-                        seriesResults = result.has("results") ? result.getAsJsonArray("results") : null;
-                        seriesSearchComplete = true;
-                        checkComplete();
-                    }
+        private void onSearchComplete(Search search, JsonArray results, boolean failed) {
+            synchronized (this) {
+                if (isFinished) {
+                    return;
                 }
 
-                @Override
-                public void onFail(Exception e) {
-                    synchronized (HybridSearchHandler.this) {
-                        seriesResults = null;
-                        seriesSearchComplete = true;
-                        checkComplete();
-                    }
+                hasFailed |= failed;
+
+                android.util.Log.d(TAG, "Search complete for: " + search.title + " (" + search.contentType + ") results: " + (results != null ? results.size() : 0));
+
+                best = findBestMatch(best, results, search.contentType, search.title);
+                remaining--;
+
+                if (remaining > 0 && (best == null || best.matchScore < HIGH_CONFIDENCE_SCORE)) {
+                    return;
                 }
-            });
-        }
 
-        private void checkComplete() {
-            if (movieSearchComplete && seriesSearchComplete) {
-                processResults();
+                isFinished = true;
             }
-        }
 
-        private void processResults() {
-            android.util.Log.d(TAG, "Hybrid search complete for: " + searchTitle);
-            android.util.Log.d(TAG, "  Movie results: " + (movieResults != null ? movieResults.size() : 0));
-            android.util.Log.d(TAG, "  Series results: " + (seriesResults != null ? seriesResults.size() : 0));
+            // nothing else can beat this closely enough to be worth waiting for //
+            for (Search other : searches) {
+                other.cancel();
+            }
 
-            ScoredResult best = findBestMatch(movieResults, seriesResults, searchTitle);
+            processResults();
+        }
 
+        private void processResults() {
             if (best != null && best.isGoodMatch()) {
                 JsonUtil json = new JsonUtil(best.result);
                 long tmdbId = json.getLong("id");
-                String matchedTitle = best.contentType.equals("movie")
-                        ? json.getString("title")
-                        : json.getString("name");
+                String matchedTitle = getResultTitle(best.result, best.contentType);
 
                 MatchResult match = new MatchResult(tmdbId, best.contentType, matchedTitle, best.matchScore);
 
@@ -444,8 +510,146 @@ public class TmdbMatcher {
                 listener.onMatch(match);
             } else {
                 android.util.Log.d(TAG, "No good match found (threshold: " + MIN_MATCH_SCORE + ")");
+
+                // a failed request says nothing about whether TMDB has the title //
+                if (!hasFailed) {
+                    Async.run(() -> {
+                        saveNoMatchToCache(context, filename);
+                    });
+                }
+
                 listener.onNoMatch();
             }
         }
     }
+
+    /**
+     * A single movie or tv search for one candidate title
+     */
+    private static class Search {
+        private final HybridSearchHandler handler;
+        private final String title;
+        private final String contentType;
+        private Cancellable request;
+        private boolean isStarted = false;
+        private boolean isDone = false;
+
+        Search(HybridSearchHandler handler, String title, String contentType) {
+            this.handler = handler;
+            this.title = title;
+            this.contentType = contentType;
+        }
+
+        void start() {
+            synchronized (this) {
+                if (isDone) {
+                    SearchQueue.finished();
+                    return;
+                }
+
+                isStarted = true;
+            }
+
+            Response response = new Response() {
+                @Override
+                public void onSuccess(JsonObject result) {
+                    complete(result.has("results") ? result.getAsJsonArray("results") : null, false);
+                }
+
+                @Override
+                public void onFail(Exception e) {
+                    complete(null, true);
+                }
+            };
+
+            Cancellable started = contentType.equals("movie")
+                    ? Tmdb.Movie.search(handler.context, title, handler.year, response)
+                    : Tmdb.Series.search(handler.context, title, handler.year, response);
+
+            synchronized (this) {
+                request = started;
+
+                if (isDone) {
+                    request.cancel();
+                }
+            }
+        }
+
+        private void complete(JsonArray results, boolean failed) {
+            synchronized (this) {
+                if (isDone) {
+                    return;
+                }
+
+                isDone = true;
+            }
+
+            SearchQueue.finished();
+            handler.onSearchComplete(this, results, failed);
+        }
+
+        void cancel() {
+            boolean wasRunning;
+
+            synchronized (this) {
+                if (isDone) {
+                    return;
+                }
+
+                isDone = true;
+                wasRunning = isStarted;
+
+                if (request != null) {
+                    request.cancel();
+                }
+            }
+
+            if (wasRunning) {
+                SearchQueue.finished();
+            } else {
+                SearchQueue.remove(this);
+            }
+        }
+    }
+
+    /**
+     * Caps the number of TMDB searches in flight across every match that is running
+     */
+    private static class SearchQueue {
+        private static final ArrayDeque<Search> sWaiting = new ArrayDeque<>();
+        private static int sRunning = 0;
+
+        static void enqueue(Search search) {
+            synchronized (SearchQueue.class) {
+                if (sRunning >= MAX_CONCURRENT_SEARCHES) {
+                    sWaiting.add(search);
+                    return;
+                }
+
+                sRunning++;
+            }
+
+            search.start();
+        }
+
+        static void finished() {
+            Search next;
+
+            synchronized (SearchQueue.class) {
+                next = sWaiting.poll();
+
+                if (next == null) {
+                    sRunning--;
+                    return;
+                }
+            }
+
+            // the slot is handed straight to the next search //
+            next.start();
+        }
+
+        static synchronized void remove(Search search) {
+            sWaiting.remove(search);
+        }
+    }
 }
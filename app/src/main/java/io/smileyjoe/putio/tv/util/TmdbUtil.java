@@ -8,11 +8,12 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import io.smileyjoe.putio.tv.broadcast.Broadcast;
-import io.smileyjoe.putio.tv.db.AppDatabase;
+import io.smileyjoe.putio.tv.db.DatabaseWriter;
 import io.smileyjoe.putio.tv.network.Response;
 import io.smileyjoe.putio.tv.network.Tmdb;
 import io.smileyjoe.putio.tv.object.Character;
@@ -118,27 +119,122 @@ public class TmdbUtil {
         }
     }
 
+    /**
+     * A season response shared by the episodes of that season that were asked for
+     */
+    public static class OnTmdbSeasonResponse extends Response {
+
+        private Context mContext;
+        private ArrayList<Video> mVideos;
+
+        public OnTmdbSeasonResponse(Context context, ArrayList<Video> videos) {
+            mContext = context;
+            mVideos = videos;
+        }
+
+        @Override
+        public void onSuccess(JsonObject result) {
+            ProcessTmdbSeasonResponse task = new ProcessTmdbSeasonResponse(mContext, mVideos, result);
+            task.run();
+        }
+
+        @Override
+        public void onFail(Exception e) {
+            for (Video video : mVideos) {
+                Broadcast.Videos.update(mContext, video);
+            }
+        }
+    }
+
+    public static class ProcessTmdbSeasonResponse extends Async.Runner<ArrayList<Video>> {
+
+        private Context mContext;
+        private JsonObject mResult;
+        private ArrayList<Video> mVideos;
+
+        /**
+         * Must be created on the main thread, the episodes are updated as copies that replace the
+         * originals once they are broadcast
+         */
+        public ProcessTmdbSeasonResponse(Context context, ArrayList<Video> videos, JsonObject result) {
+            mContext = context;
+            mVideos = new ArrayList<>(videos.size());
+            mResult = result;
+
+            for (Video video : videos) {
+                mVideos.add(video.copy());
+            }
+        }
+
+        @Override
+        protected ArrayList<Video> onBackground() {
+            HashMap<Integer, JsonObject> episodes = new HashMap<>();
+            JsonArray jsonArray = new JsonUtil(mResult).getJsonArray("episodes");
+
+            if (jsonArray != null) {
+                for (JsonElement jsonElement : jsonArray) {
+                    JsonObject jsonObject = jsonElement.getAsJsonObject();
+                    episodes.put(new JsonUtil(jsonObject).getInt("episode_number"), jsonObject);
+                }
+            }
+
+            ArrayList<Video> updated = new ArrayList<>();
+
+            for (Video video : mVideos) {
+                JsonObject jsonObject = episodes.get(video.getEpisode());
+
+                // left unchecked, the same as an episode TMDB doesn't know about //
+                if (jsonObject != null) {
+                    update(mContext, video, jsonObject);
+                    updated.add(video);
+                }
+            }
+
+            if (!updated.isEmpty()) {
+                DatabaseWriter.getInstance(mContext).insert(updated);
+            }
+
+            return mVideos;
+        }
+
+        /**
+         * Every episode that was asked for, the ones missing from the season are sent unchanged
+         * so they stop waiting on the lookup
+         */
+        @Override
+        protected void onMain(ArrayList<Video> videos) {
+            // posted together so they are delivered in the same batch //
+            for (Video video : videos) {
+                Broadcast.Videos.update(mContext, video);
+            }
+        }
+    }
+
     public static class ProcessTmdbResponse extends Async.Runner<Video> {
 
         private Context mContext;
         private JsonObject mResult;
         private Video mVideo;
 
+        /**
+         * Must be created on the main thread, the video is updated as a copy that replaces the
+         * original once it is broadcast
+         */
         public ProcessTmdbResponse(Context context, Video video, JsonObject result) {
             mContext = context;
-            mVideo = video;
+            mVideo = video.copy();
             mResult = result;
         }
 
         @Override
         protected Video onBackground() {
             if (mResult.has("results")) {
-                update(mVideo, mResult.get("results").getAsJsonArray());
+                update(mContext, mVideo, mResult.get("results").getAsJsonArray());
             } else {
-                update(mVideo, mResult.getAsJsonObject());
+                update(mContext, mVideo, mResult.getAsJsonObject());
             }
 
-            AppDatabase.getInstance(mContext).videoDao().insert(mVideo);
+            DatabaseWriter.getInstance(mContext).insert(mVideo);
             return mVideo;
         }
 
@@ -146,155 +242,158 @@ public class TmdbUtil {
         protected void onMain(Video video) {
             Broadcast.Videos.update(mContext, video);
         }
+    }
 
-        private void handleCast(Video video, JsonObject jsonObject) {
-            if (jsonObject.has("credits")) {
-                JsonObject creditsJsonObject = jsonObject.getAsJsonObject("credits");
+    private static void handleCast(Context context, Video video, JsonObject jsonObject) {
+        if (jsonObject.has("credits")) {
+            JsonObject creditsJsonObject = jsonObject.getAsJsonObject("credits");
 
-                if (creditsJsonObject.has("cast")) {
-                    ArrayList<Character> characters = new ArrayList<>();
-                    JsonArray jsonArray = creditsJsonObject.getAsJsonArray("cast");
+            if (creditsJsonObject.has("cast")) {
+                ArrayList<Character> characters = new ArrayList<>();
+                JsonArray jsonArray = creditsJsonObject.getAsJsonArray("cast");
 
-                    for (JsonElement jsonElement : jsonArray) {
-                        Character character = new Character();
-                        JsonUtil json = new JsonUtil(jsonElement.getAsJsonObject());
+                for (JsonElement jsonElement : jsonArray) {
+                    Character character = new Character();
+                    JsonUtil json = new JsonUtil(jsonElement.getAsJsonObject());
 
-                        character.setCastMemberName(json.getString("name"));
-                        character.setCastMemberTmdbId(json.getLong("id"));
-                        character.setName(json.getString("character"));
-                        character.setOrder(json.getInt("order"));
-                        character.setProfileImage(Tmdb.Image.getUrl(json.getString("profile_path"), Tmdb.Image.Type.PROFILE));
-                        character.setVideoTmdbId(video.getTmdbId());
+                    character.setCastMemberName(json.getString("name"));
+                    character.setCastMemberTmdbId(json.getLong("id"));
+                    character.setName(json.getString("character"));
+                    character.setOrder(json.getInt("order"));
+                    character.setProfileImage(Tmdb.Image.getUrl(json.getString("profile_path"), Tmdb.Image.Type.PROFILE));
+                    character.setVideoTmdbId(video.getTmdbId());
 
-                        characters.add(character);
-                    }
+                    characters.add(character);
+                }
 
-                    if (characters != null && !characters.isEmpty()) {
-                        AppDatabase.getInstance(mContext).characterDao().insert(characters);
-                        video.setCharacters(characters);
-                    }
+                if (characters != null && !characters.isEmpty()) {
+                    DatabaseWriter.getInstance(context).insertCharacters(characters);
+                    video.setCharacters(characters);
                 }
             }
         }
+    }
 
-        private Video update(Video video, JsonObject jsonObject) {
-            handleCast(video, jsonObject);
-            JsonUtil json = new JsonUtil(jsonObject);
+    /**
+     * Fill the video in from a movie, series or episode details response
+     */
+    private static Video update(Context context, Video video, JsonObject jsonObject) {
+        handleCast(context, video, jsonObject);
+        JsonUtil json = new JsonUtil(jsonObject);
 
-            video.setTmdbId(json.getLong("id"));
-            video.setOverView(json.getString("overview"));
+        video.setTmdbId(json.getLong("id"));
+        video.setOverView(json.getString("overview"));
 
-            String backdropPath = json.getString("backdrop_path");
-            String posterPath = json.getString("poster_path");
+        String backdropPath = json.getString("backdrop_path");
+        String posterPath = json.getString("poster_path");
 
-            android.util.Log.d("TmdbUpdate", "Updating video '" + video.getTitle() + "' with TMDB data");
-            android.util.Log.d("TmdbUpdate", "  backdrop_path: " + (backdropPath != null ? backdropPath : "null"));
-            android.util.Log.d("TmdbUpdate", "  poster_path: " + (posterPath != null ? posterPath : "null"));
+        android.util.Log.d("TmdbUpdate", "Updating video '" + video.getTitle() + "' with TMDB data");
+        android.util.Log.d("TmdbUpdate", "  backdrop_path: " + (backdropPath != null ? backdropPath : "null"));
+        android.util.Log.d("TmdbUpdate", "  poster_path: " + (posterPath != null ? posterPath : "null"));
 
-            video.setBackdrop(Tmdb.Image.getUrl(backdropPath, Tmdb.Image.Type.BACKDROP));
-            video.setPoster(Tmdb.Image.getUrl(posterPath, Tmdb.Image.Type.POSTER));
+        video.setBackdrop(Tmdb.Image.getUrl(backdropPath, Tmdb.Image.Type.BACKDROP));
+        video.setPoster(Tmdb.Image.getUrl(posterPath, Tmdb.Image.Type.POSTER));
 
-            String title = json.getStringNotEmpty("title", "name");
-            if (!TextUtils.isEmpty(title)) {
-                video.setTitle(title);
-            }
+        String title = json.getStringNotEmpty("title", "name");
+        if (!TextUtils.isEmpty(title)) {
+            video.setTitle(title);
+        }
 
-            String releaseDate = json.getStringNotEmpty("release_date", "first_air_date", "air_date");
-            if (!TextUtils.isEmpty(releaseDate)) {
-                video.setReleaseDate(Format.fromTmdbToMillies(releaseDate));
-            }
+        String releaseDate = json.getStringNotEmpty("release_date", "first_air_date", "air_date");
+        if (!TextUtils.isEmpty(releaseDate)) {
+            video.setReleaseDate(Format.fromTmdbToMillies(releaseDate));
+        }
 
-            video.setTagLine(json.getString("tagline"));
-            video.setRuntime(json.getInt("runtime"));
-            video.isTmdbFound(true);
-            video.isTmdbChecked(true);
+        video.setTagLine(json.getString("tagline"));
+        video.setRuntime(json.getInt("runtime"));
+        video.isTmdbFound(true);
+        video.isTmdbChecked(true);
 
-            JsonArray genreJson = json.getJsonArray("genre_ids");
+        JsonArray genreJson = json.getJsonArray("genre_ids");
 
-            if (genreJson != null) {
-                video.setGenreIds(StreamSupport.stream(genreJson.spliterator(), false)
-                        .map(JsonElement::getAsInt)
-                        .collect(Collectors.toCollection(ArrayList::new)));
-            }
+        if (genreJson != null) {
+            video.setGenreIds(StreamSupport.stream(genreJson.spliterator(), false)
+                    .map(JsonElement::getAsInt)
+                    .collect(Collectors.toCollection(ArrayList::new)));
+        }
 
-            if (jsonObject.has("videos")) {
-                JsonObject videosJsonObject = jsonObject.getAsJsonObject("videos");
+        if (jsonObject.has("videos")) {
+            JsonObject videosJsonObject = jsonObject.getAsJsonObject("videos");
 
-                if (videosJsonObject.has("results")) {
-                    JsonArray videosJson = videosJsonObject.getAsJsonArray("results");
-                    int size = 0;
-                    String key = null;
+            if (videosJsonObject.has("results")) {
+                JsonArray videosJson = videosJsonObject.getAsJsonArray("results");
+                int size = 0;
+                String key = null;
 
-                    for (JsonElement jsonElement : videosJson) {
-                        JsonUtil videoJson = new JsonUtil(jsonElement.getAsJsonObject());
+                for (JsonElement jsonElement : videosJson) {
+                    JsonUtil videoJson = new JsonUtil(jsonElement.getAsJsonObject());
 
-                        String type = videoJson.getString("type");
-                        String language = videoJson.getString("iso_639_1");
-                        String site = videoJson.getString("site");
+                    String type = videoJson.getString("type");
+                    String language = videoJson.getString("iso_639_1");
+                    String site = videoJson.getString("site");
 
-                        if (!TextUtils.isEmpty(type) && type.equalsIgnoreCase("trailer")
-                                && !TextUtils.isEmpty(language) && language.equalsIgnoreCase("en")
-                                && !TextUtils.isEmpty(site) && site.equalsIgnoreCase("youtube")) {
+                    if (!TextUtils.isEmpty(type) && type.equalsIgnoreCase("trailer")
+                            && !TextUtils.isEmpty(language) && language.equalsIgnoreCase("en")
+                            && !TextUtils.isEmpty(site) && site.equalsIgnoreCase("youtube")) {
 
-                            int tempSize = videoJson.getInt("size");
+                        int tempSize = videoJson.getInt("size");
 
-                            if (tempSize > size) {
-                                key = videoJson.getString("key");
-                            }
+                        if (tempSize > size) {
+                            key = videoJson.getString("key");
                         }
                     }
+                }
 
-                    if (!TextUtils.isEmpty(key)) {
-                        video.setYoutubeTrailerKey(key);
-                    }
+                if (!TextUtils.isEmpty(key)) {
+                    video.setYoutubeTrailerKey(key);
                 }
             }
-
-            handleSeason(video, jsonObject);
-
-            return video;
         }
 
-        private void handleSeason(Video video, JsonObject jsonObject) {
-            if (video.getVideoType() == VideoType.SEASON && video.getSeason() > 0 && jsonObject.has("seasons")) {
-                JsonArray jsonArray = jsonObject.getAsJsonArray("seasons");
+        handleSeason(video, jsonObject);
 
-                for (JsonElement jsonElement : jsonArray) {
-                    JsonUtil json = new JsonUtil(jsonElement.getAsJsonObject());
+        return video;
+    }
 
-                    if (video.getSeason() == json.getInt("season_number")) {
-                        video.setTitle(video.getTitle());
+    private static void handleSeason(Video video, JsonObject jsonObject) {
+        if (video.getVideoType() == VideoType.SEASON && video.getSeason() > 0 && jsonObject.has("seasons")) {
+            JsonArray jsonArray = jsonObject.getAsJsonArray("seasons");
 
-                        String overView = json.getString("overview");
-                        if (!TextUtils.isEmpty(overView)) {
-                            video.setOverView(overView);
-                        }
+            for (JsonElement jsonElement : jsonArray) {
+                JsonUtil json = new JsonUtil(jsonElement.getAsJsonObject());
 
-                        String poster = json.getString("poster_path");
-                        if (!TextUtils.isEmpty(poster)) {
-                            video.setPoster(Tmdb.Image.getUrl(poster, Tmdb.Image.Type.POSTER));
-                        }
+                if (video.getSeason() == json.getInt("season_number")) {
+                    video.setTitle(video.getTitle());
 
-                        String airDate = json.getString("air_date");
-                        if (!TextUtils.isEmpty(airDate)) {
-                            video.setReleaseDate(Format.fromTmdbToMillies(airDate));
-                        }
+                    String overView = json.getString("overview");
+                    if (!TextUtils.isEmpty(overView)) {
+                        video.setOverView(overView);
+                    }
 
-                        break;
+                    String poster = json.getString("poster_path");
+                    if (!TextUtils.isEmpty(poster)) {
+                        video.setPoster(Tmdb.Image.getUrl(poster, Tmdb.Image.Type.POSTER));
                     }
+
+                    String airDate = json.getString("air_date");
+                    if (!TextUtils.isEmpty(airDate)) {
+                        video.setReleaseDate(Format.fromTmdbToMillies(airDate));
+                    }
+
+                    break;
                 }
             }
         }
+    }
 
-        private Video update(Video video, JsonArray jsonArray) {
-            for (JsonElement jsonElement : jsonArray) {
-                update(video, jsonElement.getAsJsonObject());
-                break;
-            }
+    private static Video update(Context context, Video video, JsonArray jsonArray) {
+        for (JsonElement jsonElement : jsonArray) {
+            update(context, video, jsonElement.getAsJsonObject());
+            break;
+        }
 
-            video.isTmdbChecked(true);
+        video.isTmdbChecked(true);
 
-            return video;
-        }
+        return video;
     }
 }
@@ -0,0 +1,203 @@
+package io.smileyjoe.putio.tv.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Objects;
+
+import io.smileyjoe.putio.tv.comparator.VideoComparator;
+import io.smileyjoe.putio.tv.object.Video;
+
+/**
+ * Positions of a folder's videos by genre and watched state, plus the order of the videos for every
+ * {@link VideoComparator.Order}. Built once off the main thread so a filter change is a couple of
+ * bitset operations and a walk over an ordering that is already sorted.
+ */
+public class VideoIndex {
+
+    private final ArrayList<Video> mVideos;
+    private final HashMap<Long, Integer> mPositions = new HashMap<>();
+    private final HashMap<Integer, BitSet> mGenres = new HashMap<>();
+    private final BitSet mWatched = new BitSet();
+    private final EnumMap<VideoComparator.Order, int[]> mOrders = new EnumMap<>(VideoComparator.Order.class);
+    // what each position was indexed and sorted with, videos can be changed in place while they are listed //
+    private final ArrayList<ArrayList<Integer>> mGenreIds;
+    private final byte[][] mSortKeys;
+    private final long[] mCreatedAt;
+    private final long[] mReleaseDates;
+
+    /**
+     * Sorts the videos for every order, don't call on the main thread
+     */
+    public VideoIndex(ArrayList<Video> videos) {
+        mVideos = new ArrayList<>(videos);
+        mGenreIds = new ArrayList<>(mVideos.size());
+        mSortKeys = new byte[mVideos.size()][];
+        mCreatedAt = new long[mVideos.size()];
+        mReleaseDates = new long[mVideos.size()];
+
+        for (int position = 0; position < mVideos.size(); position++) {
+            Video video = mVideos.get(position);
+
+            mPositions.put(video.getPutId(), position);
+            mGenreIds.add(null);
+            mWatched.set(position, video.isWatched());
+            indexGenres(video, position);
+            snapshotSort(video, position);
+        }
+
+        for (VideoComparator.Order order : VideoComparator.Order.values()) {
+            mOrders.put(order, sort(order));
+        }
+    }
+
+    public int size() {
+        return mVideos.size();
+    }
+
+    /**
+     * @param genreId only videos with this genre, anything below 1 is every genre
+     * @return the matching videos in the same order {@link VideoUtil#sort(ArrayList, VideoComparator.Order)} would give
+     */
+    public ArrayList<Video> filter(int genreId, boolean hideWatched, VideoComparator.Order order) {
+        BitSet included = new BitSet(mVideos.size());
+        included.set(0, mVideos.size());
+
+        if (genreId > 0) {
+            BitSet genre = mGenres.get(genreId);
+
+            if (genre == null) {
+                return new ArrayList<>();
+            }
+
+            included.and(genre);
+        }
+
+        if (hideWatched) {
+            included.andNot(mWatched);
+        }
+
+        int[] positions = getOrder(order);
+        ArrayList<Video> filtered = new ArrayList<>(included.cardinality());
+
+        for (int position : positions) {
+            if (included.get(position)) {
+                filtered.add(mVideos.get(position));
+            }
+        }
+
+        return filtered;
+    }
+
+    /**
+     * Swap in a video that has changed, orders it affects are sorted again the next time they are used.
+     * The video can be the same instance that was indexed, it is checked against what was indexed.
+     */
+    public void update(Video video) {
+        Integer position = mPositions.get(video.getPutId());
+
+        if (position == null) {
+            return;
+        }
+
+        mVideos.set(position, video);
+        mWatched.set(position, video.isWatched());
+
+        if (!Objects.equals(mGenreIds.get(position), video.getGenreIds())) {
+            for (BitSet genre : mGenres.values()) {
+                genre.clear(position);
+            }
+
+            indexGenres(video, position);
+        }
+
+        byte[] sortKey = mSortKeys[position];
+        long createdAt = mCreatedAt[position];
+        long releaseDate = mReleaseDates[position];
+
+        snapshotSort(video, position);
+
+        if (!Arrays.equals(sortKey, mSortKeys[position])
+                || createdAt != mCreatedAt[position]
+                || releaseDate != mReleaseDates[position]) {
+            mOrders.clear();
+        }
+    }
+
+    private void indexGenres(Video video, int position) {
+        ArrayList<Integer> genreIds = video.getGenreIds();
+
+        mGenreIds.set(position, genreIds == null ? null : new ArrayList<>(genreIds));
+
+        if (genreIds != null) {
+            for (Integer genreId : genreIds) {
+                BitSet genre = mGenres.get(genreId);
+
+                if (genre == null) {
+                    genre = new BitSet(mVideos.size());
+                    mGenres.put(genreId, genre);
+                }
+
+                genre.set(position);
+            }
+        }
+    }
+
+    private void snapshotSort(Video video, int position) {
+        mSortKeys[position] = video.getSortKey();
+        mCreatedAt[position] = video.getCreatedAt();
+        mReleaseDates[position] = video.getReleaseDate();
+    }
+
+    private int[] getOrder(VideoComparator.Order order) {
+        int[] positions = mOrders.get(order);
+
+        if (positions == null) {
+            positions = sort(order);
+            mOrders.put(order, positions);
+        }
+
+        return positions;
+    }
+
+    /**
+     * Sorts on the snapshot rather than the videos, a video changing part way through would break the sort
+     */
+    private int[] sort(VideoComparator.Order order) {
+        Integer[] boxed = new Integer[mVideos.size()];
+
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = i;
+        }
+
+        // stable, so equal videos keep the order they were listed in like they do with Collections.sort //
+        Arrays.sort(boxed, (one, two) -> compare(order, one, two));
+
+        int[] positions = new int[boxed.length];
+
+        for (int i = 0; i < boxed.length; i++) {
+            positions[i] = boxed[i];
+        }
+
+        return positions;
+    }
+
+    /**
+     * Same order as {@link VideoComparator}
+     */
+    private int compare(VideoComparator.Order order, int one, int two) {
+        switch (order) {
+            case NEWEST_FIRST:
+                return Long.compare(mCreatedAt[two], mCreatedAt[one]);
+            case RELEASE_ASCENDING:
+                return Long.compare(mReleaseDates[two], mReleaseDates[one]);
+            case RELEASE_DESCENDING:
+                return Long.compare(mReleaseDates[one], mReleaseDates[two]);
+            case ALPHABETICAL:
+            default:
+                return VideoComparator.compare(mSortKeys[one], mSortKeys[two]);
+        }
+    }
+}
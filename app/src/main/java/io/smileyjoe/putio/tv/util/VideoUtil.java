@@ -13,20 +13,26 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
 import io.smileyjoe.putio.tv.comparator.VideoComparator;
 import io.smileyjoe.putio.tv.db.AppDatabase;
+import io.smileyjoe.putio.tv.object.Character;
 import io.smileyjoe.putio.tv.object.FileType;
 import io.smileyjoe.putio.tv.object.Filter;
 import io.smileyjoe.putio.tv.object.Video;
 import io.smileyjoe.putio.tv.object.VideoType;
 import io.smileyjoe.putio.tv.torrent.Parse;
+import io.smileyjoe.putio.tv.torrent.ParsedNameCache;
 
 public class VideoUtil {
 
+    // SQLite allows 999 bound arguments per statement on older devices //
+    private static final int MAX_QUERY_ARGS = 900;
+
     private VideoUtil() {
 
     }
@@ -42,6 +48,47 @@ public class VideoUtil {
         return currentDbVideo;
     }
 
+    /**
+     * Stored videos for all the put ids keyed by put id, with their characters.
+     * Queried in chunks so the number of bound arguments stays under SQLite's limit.
+     */
+    public static HashMap<Long, Video> getFromDbByPutIds(Context context, List<Long> putIds) {
+        AppDatabase db = AppDatabase.getInstance(context);
+        HashMap<Long, Video> videos = new HashMap<>();
+        HashMap<Long, ArrayList<Video>> byTmdbId = new HashMap<>();
+
+        for (List<Long> chunk : chunk(putIds)) {
+            for (Video video : db.videoDao().getByPutIds(chunk)) {
+                videos.put(video.getPutId(), video);
+
+                if (video.getTmdbId() > 0) {
+                    video.setCharacters(new ArrayList<>());
+                    byTmdbId.computeIfAbsent(video.getTmdbId(), id -> new ArrayList<>()).add(video);
+                }
+            }
+        }
+
+        for (List<Long> chunk : chunk(new ArrayList<>(byTmdbId.keySet()))) {
+            for (Character character : db.characterDao().getByTmdbIds(chunk)) {
+                for (Video video : byTmdbId.get(character.getVideoTmdbId())) {
+                    video.getCharacters().add(character);
+                }
+            }
+        }
+
+        return videos;
+    }
+
+    private static List<List<Long>> chunk(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+
+        for (int i = 0; i < ids.size(); i += MAX_QUERY_ARGS) {
+            chunks.add(ids.subList(i, Math.min(i + MAX_QUERY_ARGS, ids.size())));
+        }
+
+        return chunks;
+    }
+
     public static ArrayList<Video> filter(ArrayList<Video> videos) {
         return videos.stream()
                 .filter(video -> video.getFileType() != FileType.UNKNOWN && video.getSize() > 0)
@@ -61,26 +108,22 @@ public class VideoUtil {
     }
 
     public static Video parseFromPut(Context context, JsonObject jsonObject) {
-        JsonUtil json = new JsonUtil(jsonObject);
-        long putId = json.getLong("id");
-        boolean hasTmdbData = false;
-
-        Video video = VideoUtil.getFromDbByPutId(context, putId);
-
-        if (video != null) {
-            hasTmdbData = video.isTmdbFound();
-        } else {
-            video = new Video();
-        }
+        return mergeWithDb(context, fromPut(jsonObject));
+    }
 
-        if (!hasTmdbData) {
-            video.setTitle(json.getString("name"));
-            video.setPutId(json.getLong("id"));
-            video.setBackdrop(json.getString("screenshot"));
-            video.setPoster(json.getString("screenshot"));
-        }
+    /**
+     * Map a put.io file to a video without looking at the database
+     */
+    public static Video fromPut(JsonObject jsonObject) {
+        JsonUtil json = new JsonUtil(jsonObject);
+        Video video = new Video();
 
+        video.setPutId(json.getLong("id"));
+        video.setParentPutId(json.getLong("parent_id"));
         video.setPutTitle(json.getString("name"));
+        video.setTitle(json.getString("name"));
+        video.setBackdrop(json.getString("screenshot"));
+        video.setPoster(json.getString("screenshot"));
         video.setConverted(json.getBoolean("is_mp4_available", false));
         video.setFileType(json.getString("file_type"));
         video.setStreamUri(json.getString("stream_url"));
@@ -89,11 +132,49 @@ public class VideoUtil {
         video.setCreatedAt(json.getString("created_at"));
         video.setUpdatedAt(json.getString("updated_at"));
         video.setResumeTime(json.getLong("start_from"));
+        video.setWatched(!TextUtils.isEmpty(json.getString("first_accessed_at")));
+
+        return video;
+    }
+
+    /**
+     * Combine a video mapped from put.io with anything already stored for it,
+     * stored TMDB details win over the put.io title and screenshot
+     */
+    public static Video mergeWithDb(Context context, Video putVideo) {
+        return mergeWithDb(context, putVideo, VideoUtil.getFromDbByPutId(context, putVideo.getPutId()));
+    }
+
+    private static Video mergeWithDb(Context context, Video putVideo, Video dbVideo) {
+        boolean hasTmdbData = false;
+        Video video = dbVideo;
+
+        if (video != null) {
+            hasTmdbData = video.isTmdbFound();
+        } else {
+            video = new Video();
+        }
 
-        String firstAccessedAt = json.getString("first_accessed_at");
-        video.setWatched(!TextUtils.isEmpty(firstAccessedAt));
+        if (!hasTmdbData) {
+            video.setTitle(putVideo.getPutTitle());
+            video.setPutId(putVideo.getPutId());
+            video.setBackdrop(putVideo.getBackdrop());
+            video.setPoster(putVideo.getPoster());
+        }
 
-        video = Parse.update(video);
+        video.setPutTitle(putVideo.getPutTitle());
+        video.setParentPutId(putVideo.getParentPutId());
+        video.setConverted(putVideo.isConverted());
+        video.setFileType(putVideo.getFileType());
+        video.setStreamUri(putVideo.getStreamUri());
+        video.setStreamMp4Uri(putVideo.getStreamMp4Uri());
+        video.setSize(putVideo.getSize());
+        video.setCreatedAt(putVideo.getCreatedAt());
+        video.setUpdatedAt(putVideo.getUpdatedAt());
+        video.setResumeTime(putVideo.getResumeTime());
+        video.setWatched(putVideo.isWatched());
+
+        video = Parse.update(context, video);
 
         return video;
     }
@@ -114,8 +195,30 @@ public class VideoUtil {
     }
 
     public static ArrayList<Video> parseFromPut(Context context, JsonArray jsonArray) {
+        return mergeWithDb(context, fromPut(jsonArray));
+    }
+
+    public static ArrayList<Video> fromPut(JsonArray jsonArray) {
         return StreamSupport.stream(jsonArray.spliterator(), false)
-                .map(jsonElement -> parseFromPut(context, jsonElement.getAsJsonObject()))
+                .map(jsonElement -> fromPut(jsonElement.getAsJsonObject()))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Same as {@link #mergeWithDb(Context, Video)} for a whole listing, the stored videos are loaded in bulk
+     */
+    public static ArrayList<Video> mergeWithDb(Context context, ArrayList<Video> putVideos) {
+        HashMap<Long, Video> dbVideos = getFromDbByPutIds(context, putVideos.stream()
+                .map(Video::getPutId)
+                .distinct()
+                .collect(Collectors.toList()));
+
+        ParsedNameCache.getInstance().prefetch(context, putVideos.stream()
+                .map(Video::getPutTitle)
+                .collect(Collectors.toList()));
+
+        return putVideos.stream()
+                .map(video -> mergeWithDb(context, video, dbVideos.get(video.getPutId())))
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
@@ -1,10 +1,12 @@
 package io.smileyjoe.putio.tv.video;
 
 import android.content.Context;
-
-import com.google.gson.JsonObject;
+import android.util.Log;
 
 import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import io.smileyjoe.putio.tv.broadcast.Broadcast;
@@ -16,17 +18,30 @@ import io.smileyjoe.putio.tv.object.Group;
 import io.smileyjoe.putio.tv.object.HistoryItem;
 import io.smileyjoe.putio.tv.object.Video;
 import io.smileyjoe.putio.tv.util.Async;
+import io.smileyjoe.putio.tv.util.EnrichmentScheduler;
 import io.smileyjoe.putio.tv.util.PutioHelper;
+import io.smileyjoe.putio.tv.util.PutioListingReader;
 
+/**
+ * Loads every folder in a group. Cached folders are used straight away, the rest are fetched
+ * concurrently and shown in group order as they arrive.
+ */
 public class GetGroup extends Async.Runner<Void> {
 
+    private static final String TAG = "GetGroup";
+    private static final int MAX_PARALLEL = 4;
+
     private Context mContext;
     private Long mId;
     private Group mGroup;
+    private HistoryItem mHistoryItem;
     private ArrayList<Video> mGroupVideos;
     private ArrayList<Folder> mGroupFolders;
     private boolean mShouldAddToHistory;
+    private boolean mIsLoadedSent;
     private VideoCache mCache;
+    private Executor mMain;
+    private int mGeneration;
 
     public GetGroup(Context context, Long id, boolean shouldAddToHistory) {
         mContext = context;
@@ -35,79 +50,209 @@ public class GetGroup extends Async.Runner<Void> {
         mId = id;
         mShouldAddToHistory = shouldAddToHistory;
         mCache = VideoCache.getInstance();
+        mMain = new Async().onMain();
+        mGeneration = EnrichmentScheduler.getInstance().getGeneration();
     }
 
     @Override
     protected Void onBackground() {
-        mGroup = AppDatabase.getInstance(mContext).groupDao().get(mId);
-        ArrayList<Long> putIds = mGroup.getPutIds();
+        AppDatabase database = AppDatabase.getInstance(mContext);
+        mGroup = database.groupDao().get(mId);
+        mHistoryItem = HistoryItem.group(mId, mGroup.getTitle());
+        ArrayList<Long> putIds = new ArrayList<>(database.groupMemberDao().getPutIds(mId));
 
         if (putIds != null && !putIds.isEmpty()) {
+            Result[] results = new Result[putIds.size()];
+
+            for (int i = 0; i < putIds.size(); i++) {
+                results[i] = fromCache(putIds.get(i));
+            }
+
+            load(putIds, results);
+        }
+
+        return null;
+    }
+
+    private Result fromCache(long id) {
+        Result result = new Result();
+
+        if (mGroup.isUseParent()) {
+            result.mParent = mCache.getParent(id);
+            result.mIsLoaded = result.mParent != null;
+        } else {
+            result.mVideos = mCache.getVideos(id);
+            result.mFolders = mCache.getFolders(id);
+            result.mIsLoaded = result.mVideos != null;
+        }
+
+        return result;
+    }
+
+    private Result fromPut(long id) {
+        Result result = new Result();
+        PutioHelper helper = new PutioHelper(mContext);
+        helper.setGeneration(mGeneration);
+
+        PutioListingReader.Listing listing = Putio.Files.getListing(mContext, id);
+
+        if (listing != null) {
+            helper.parse(id, listing);
+
             if (mGroup.isUseParent()) {
-                handleParents(putIds);
+                result.mParent = helper.getCurrent();
+                mCache.addParent(id, result.mParent);
             } else {
-                handleVideos(putIds);
+                result.mVideos = helper.getVideos();
+                result.mFolders = helper.getFolders();
+                mCache.add(id, result.mVideos, result.mFolders, helper.getCurrent());
             }
         }
 
-        return null;
+        result.mIsLoaded = true;
+
+        return result;
     }
 
-    private void handleVideos(ArrayList<Long> putIds) {
-        for (long id : putIds) {
-            ArrayList<Video> videos = mCache.getVideos(id);
-            ArrayList<Folder> folders = mCache.getFolders(id);
+    /**
+     * Fetch the missing folders with up to {@link #MAX_PARALLEL} workers, this thread is one of them
+     * so the load still completes if the shared pool is busy.
+     */
+    private void load(ArrayList<Long> putIds, Result[] results) {
+        ArrayList<Integer> missing = new ArrayList<>();
+        CountDownLatch[] done = new CountDownLatch[results.length];
 
-            if (videos == null) {
-                PutioHelper helper = new PutioHelper(mContext);
+        for (int i = 0; i < results.length; i++) {
+            done[i] = new CountDownLatch(results[i].mIsLoaded ? 0 : 1);
 
-                JsonObject result = Putio.Files.get(mContext, id);
+            if (!results[i].mIsLoaded) {
+                missing.add(i);
+            }
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            int claimed;
+            while ((claimed = next.getAndIncrement()) < missing.size()) {
+                int index = missing.get(claimed);
+                Result result = null;
+
+                try {
+                    result = fromPut(putIds.get(index));
+                } catch (RuntimeException e) {
+                    // one folder failing shouldn't hold up the rest of the group //
+                    Log.w(TAG, "Group folder failed to load: " + putIds.get(index), e);
+                } finally {
+                    results[index] = result == null ? Result.empty() : result;
+                    done[index].countDown();
+                }
+            }
+        };
 
-                helper.parse(id, result);
+        Executor background = new Async().onBackground();
+        for (int i = 1; i < Math.min(MAX_PARALLEL, missing.size()); i++) {
+            background.execute(worker);
+        }
+
+        // cache hits at the front of the group can be shown before any request completes //
+        int emitted = emit(putIds, results, done, 0);
 
-                videos = helper.getVideos();
-                folders = helper.getFolders();
+        worker.run();
 
-                mCache.add(id, videos, folders, helper.getCurrent());
+        for (int i = emitted; i < results.length; i++) {
+            try {
+                done[i].await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
             }
 
-            mGroupVideos.addAll(videos);
-            mGroupFolders.addAll(folders.stream()
-                    .filter(folder -> !putIds.contains(((Directory) folder).getPutId()))
-                    .collect(Collectors.toList()));
+            emitted = emit(putIds, results, done, i);
+            i = emitted - 1;
         }
     }
 
-    private void handleParents(ArrayList<Long> putIds) {
-        for (long id : putIds) {
-            Video parent = mCache.getParent(id);
+    /**
+     * Send every loaded result from position {@code from} up to the first one that is still loading
+     *
+     * @return the position of the first result that was not sent
+     */
+    private int emit(ArrayList<Long> putIds, Result[] results, CountDownLatch[] done, int from) {
+        ArrayList<Video> videos = new ArrayList<>();
+        ArrayList<Folder> folders = new ArrayList<>();
+        int position = from;
 
-            if (parent == null) {
-                PutioHelper helper = new PutioHelper(mContext);
+        while (position < results.length && done[position].getCount() == 0) {
+            add(putIds, results[position], videos, folders);
+            position++;
+        }
 
-                JsonObject result = Putio.Files.get(mContext, id);
+        if (position > from) {
+            send(videos, folders);
+        }
 
-                helper.parse(id, result);
+        return position;
+    }
 
-                parent = helper.getCurrent();
-                mCache.addParent(id, parent);
+    private void add(ArrayList<Long> putIds, Result result, ArrayList<Video> videos, ArrayList<Folder> folders) {
+        if (mGroup.isUseParent()) {
+            if (result.mParent != null) {
+                switch (result.mParent.getFileType()) {
+                    case VIDEO:
+                        videos.add(result.mParent);
+                        break;
+                    case FOLDER:
+                    case UNKNOWN:
+                    default:
+                        folders.add(new Directory(result.mParent));
+                        break;
+                }
+            }
+        } else {
+            if (result.mVideos != null) {
+                videos.addAll(result.mVideos);
             }
 
-            switch (parent.getFileType()) {
-                case VIDEO:
-                    mGroupVideos.add(parent);
-                    break;
-                case FOLDER:
-                case UNKNOWN:
-                default:
-                    mGroupFolders.add(new Directory(parent));
-                    break;
+            if (result.mFolders != null) {
+                folders.addAll(result.mFolders.stream()
+                        .filter(folder -> !putIds.contains(((Directory) folder).getPutId()))
+                        .collect(Collectors.toList()));
             }
         }
     }
 
+    private synchronized void send(ArrayList<Video> videos, ArrayList<Folder> folders) {
+        mGroupVideos.addAll(videos);
+        mGroupFolders.addAll(folders);
+
+        if (!mIsLoadedSent) {
+            mIsLoadedSent = true;
+            mMain.execute(() -> Broadcast.Videos.loaded(mContext, mHistoryItem, videos, folders, mShouldAddToHistory));
+        } else {
+            mMain.execute(() -> Broadcast.Videos.appended(mContext, mHistoryItem, videos, folders));
+        }
+    }
+
     @Override
     protected void onMain(Void aVoid) {
-        Broadcast.Videos.loaded(mContext, HistoryItem.group(mId, mGroup.getTitle()), mGroupVideos, mGroupFolders, mShouldAddToHistory);
+        if (!mIsLoadedSent) {
+            Broadcast.Videos.loaded(mContext, HistoryItem.group(mId, mGroup.getTitle()), mGroupVideos, mGroupFolders, mShouldAddToHistory);
+        }
+    }
+
+    private static class Result {
+        private ArrayList<Video> mVideos;
+        private ArrayList<Folder> mFolders;
+        private Video mParent;
+        private boolean mIsLoaded;
+
+        /**
+         * Loaded with nothing in it, shown as if the folder were empty
+         */
+        private static Result empty() {
+            Result result = new Result();
+            result.mIsLoaded = true;
+            return result;
+        }
     }
 }
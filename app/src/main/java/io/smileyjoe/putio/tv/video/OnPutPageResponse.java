@@ -0,0 +1,48 @@
+package io.smileyjoe.putio.tv.video;
+
+import android.content.Context;
+
+import io.smileyjoe.putio.tv.network.ResponseListing;
+import io.smileyjoe.putio.tv.object.HistoryItem;
+import io.smileyjoe.putio.tv.object.Video;
+import io.smileyjoe.putio.tv.util.PutioListingReader;
+
+public class OnPutPageResponse extends ResponseListing {
+    private Context mContext;
+    private long mPutId;
+    private HistoryItem mHistoryItem;
+    private Video mCurrent;
+    private long mToken;
+    private int mPosition;
+    private boolean mShouldStore;
+    private int mGeneration;
+
+    /**
+     * @param token from {@link VideoCache#add} for the first page
+     * @param position number of files on the pages before this one
+     */
+    public OnPutPageResponse(Context context, long putId, HistoryItem historyItem, Video current, long token, int position, boolean shouldStore, int generation) {
+        mContext = context;
+        mPutId = putId;
+        mHistoryItem = historyItem;
+        mCurrent = current;
+        mToken = token;
+        mPosition = position;
+        mShouldStore = shouldStore;
+        mGeneration = generation;
+    }
+
+    @Override
+    public void onSuccess(PutioListingReader.Listing result) {
+        new ProcessPutPage(mContext, mPutId, mHistoryItem, mCurrent, mToken, mPosition, mShouldStore, mGeneration, result).run();
+    }
+
+    /**
+     * The folder is missing the rest of its pages, so it isn't kept as if it were whole.
+     * The stored listing is never marked complete and isn't read back.
+     */
+    @Override
+    public void onFail(Exception e) {
+        VideoCache.getInstance().clear(mCurrent.getPutId(), mToken);
+    }
+}
@@ -2,23 +2,26 @@ package io.smileyjoe.putio.tv.video;
 
 import android.content.Context;
 
-import com.google.gson.JsonObject;
+import io.smileyjoe.putio.tv.network.ResponseListing;
+import io.smileyjoe.putio.tv.util.PutioListingReader;
 
-import io.smileyjoe.putio.tv.network.Response;
-
-public class OnPutResponse extends Response {
+public class OnPutResponse extends ResponseListing {
     private long mPutId;
     private Context mContext;
     private boolean mShouldAddToHistory;
+    private int mGeneration;
 
-    public OnPutResponse(Context context, long putId, boolean shouldAddToHistory) {
+    public OnPutResponse(Context context, long putId, boolean shouldAddToHistory, int generation) {
         mContext = context;
         mPutId = putId;
         mShouldAddToHistory = shouldAddToHistory;
+        mGeneration = generation;
     }
 
     @Override
-    public void onSuccess(JsonObject result) {
-        new ProcessPutResponse(mContext, mPutId, mShouldAddToHistory, result).run();
+    public void onSuccess(PutioListingReader.Listing result) {
+        ProcessPutResponse response = new ProcessPutResponse(mContext, mPutId, mShouldAddToHistory, result);
+        response.setGeneration(mGeneration);
+        response.run();
     }
 }
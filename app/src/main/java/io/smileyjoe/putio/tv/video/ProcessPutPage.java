@@ -0,0 +1,95 @@
+package io.smileyjoe.putio.tv.video;
+
+import android.content.Context;
+
+import io.smileyjoe.putio.tv.broadcast.Broadcast;
+import io.smileyjoe.putio.tv.db.AppDatabase;
+import io.smileyjoe.putio.tv.db.FolderListingDao;
+import io.smileyjoe.putio.tv.network.Putio;
+import io.smileyjoe.putio.tv.object.FolderListingFile;
+import io.smileyjoe.putio.tv.object.HistoryItem;
+import io.smileyjoe.putio.tv.object.Video;
+import io.smileyjoe.putio.tv.util.Async;
+import io.smileyjoe.putio.tv.util.EnrichmentScheduler;
+import io.smileyjoe.putio.tv.util.PutioHelper;
+import io.smileyjoe.putio.tv.util.PutioListingReader;
+
+/**
+ * Adds a further page of a folder listing to the cache and the screen, then requests the next page.
+ * Each page is stored as it arrives, the stored listing is marked complete with the last one.
+ */
+public class ProcessPutPage extends Async.Runner<Void> {
+
+    private Context mContext;
+    private long mPutId;
+    private HistoryItem mHistoryItem;
+    private Video mCurrent;
+    private long mToken;
+    private int mPosition;
+    private boolean mShouldStore;
+    private PutioListingReader.Listing mResult;
+    private String mCursor;
+    private PutioHelper mHelper;
+    private int mGeneration;
+    private boolean mIsStale = false;
+
+    /**
+     * @param token from {@link VideoCache#add} for the first page
+     * @param position number of files on the pages before this one
+     */
+    public ProcessPutPage(Context context, long putId, HistoryItem historyItem, Video current, long token, int position, boolean shouldStore, int generation, PutioListingReader.Listing result) {
+        mContext = context;
+        mPutId = putId;
+        mHistoryItem = historyItem;
+        mCurrent = current;
+        mToken = token;
+        mPosition = position;
+        mShouldStore = shouldStore;
+        mGeneration = generation;
+        mResult = result;
+    }
+
+    @Override
+    protected Void onBackground() {
+        // the folder was listed again since this chain started, that listing has these files //
+        if (!VideoCache.getInstance().isCurrent(mCurrent.getPutId(), mToken)) {
+            mIsStale = true;
+            return null;
+        }
+
+        mHelper = new PutioHelper(mContext);
+        mHelper.setPriority(EnrichmentScheduler.Priority.BACKGROUND);
+        mHelper.setGeneration(mGeneration);
+        mHelper.parsePage(mCurrent, mResult.getFiles());
+        mCursor = Putio.Files.getCursor(mPutId, mResult);
+
+        if (!VideoCache.getInstance().append(mCurrent.getPutId(), mToken, mHelper.getVideos(), mHelper.getFolders())) {
+            mIsStale = true;
+            return null;
+        }
+
+        if (mShouldStore) {
+            FolderListingDao dao = AppDatabase.getInstance(mContext).folderListingDao();
+            dao.insertFiles(FolderListingFile.fromVideos(mPutId, mPosition, mResult.getFiles()));
+
+            if (mCursor == null) {
+                dao.complete(mPutId, mPosition + mResult.getFiles().size());
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    protected void onMain(Void result) {
+        if (mIsStale) {
+            return;
+        }
+
+        Broadcast.Videos.appended(mContext, mHistoryItem, mHelper.getVideos(), mHelper.getFolders());
+
+        if (mCursor != null) {
+            Putio.Files.next(mContext, mCursor, new OnPutPageResponse(mContext, mPutId, mHistoryItem, mCurrent, mToken, mPosition + mResult.getFiles().size(), mShouldStore, mGeneration));
+        }
+    }
+}
@@ -2,50 +2,114 @@ package io.smileyjoe.putio.tv.video;
 
 import android.content.Context;
 
-import com.google.gson.JsonObject;
+import java.util.Collections;
+import java.util.Set;
 
 import io.smileyjoe.putio.tv.broadcast.Broadcast;
+import io.smileyjoe.putio.tv.db.AppDatabase;
+import io.smileyjoe.putio.tv.db.FolderListingDao;
+import io.smileyjoe.putio.tv.network.Putio;
+import io.smileyjoe.putio.tv.object.FolderListing;
+import io.smileyjoe.putio.tv.object.FolderListingFile;
 import io.smileyjoe.putio.tv.object.HistoryItem;
 import io.smileyjoe.putio.tv.object.VirtualDirectory;
 import io.smileyjoe.putio.tv.util.Async;
+import io.smileyjoe.putio.tv.util.EnrichmentScheduler;
 import io.smileyjoe.putio.tv.util.PutioHelper;
+import io.smileyjoe.putio.tv.util.PutioListingReader;
 
 public class ProcessPutResponse extends Async.Runner<Void> {
 
     private long mPutId;
-    private JsonObject mResult;
+    private PutioListingReader.Listing mResult;
     private long mCurrentPutId;
     private String mCurrentTitle;
     private Context mContext;
     private VideoCache mCache;
     private boolean mShouldAddToHistory;
+    private boolean mShouldStore;
+    private String mCursor;
+    private PutioHelper mHelper;
+    private Set<Long> mSkipTmdb = Collections.emptySet();
+    private int mGeneration;
+    private long mToken;
 
-    public ProcessPutResponse(Context context, long putId, boolean shouldAddToHistory, JsonObject result) {
+    public ProcessPutResponse(Context context, long putId, boolean shouldAddToHistory, PutioListingReader.Listing result) {
+        this(context, putId, shouldAddToHistory, result, true);
+    }
+
+    public ProcessPutResponse(Context context, long putId, boolean shouldAddToHistory, PutioListingReader.Listing result, boolean shouldStore) {
         mContext = context;
         mPutId = putId;
         mShouldAddToHistory = shouldAddToHistory;
         mResult = result;
+        mShouldStore = shouldStore;
         mCache = VideoCache.getInstance();
+        mGeneration = EnrichmentScheduler.getInstance().getGeneration();
+    }
+
+    /**
+     * For a listing that is only ready once running in the background
+     */
+    protected void setResult(PutioListingReader.Listing result) {
+        mResult = result;
+    }
+
+    /**
+     * See {@link PutioHelper#setGeneration(int)}, defaults to the generation when this was made
+     */
+    public void setGeneration(int generation) {
+        mGeneration = generation;
+    }
+
+    public int getGeneration() {
+        return mGeneration;
+    }
+
+    /**
+     * Don't look these videos up on TMDB, something else already has
+     */
+    public void skipTmdb(Set<Long> putIds) {
+        mSkipTmdb = putIds;
     }
 
     @Override
     protected Void onBackground() {
-        PutioHelper helper = new PutioHelper(mContext);
-        helper.parse(mPutId, mResult);
+        mHelper = new PutioHelper(mContext);
+        mHelper.skipTmdb(mSkipTmdb);
+        mHelper.setGeneration(mGeneration);
+        mHelper.parse(mPutId, mResult);
 
-        mCurrentPutId = helper.getCurrent().getPutId();
-        mCurrentTitle = helper.getCurrent().getTitleFormatted(mContext, true);
+        mCurrentPutId = mHelper.getCurrent().getPutId();
+        mCurrentTitle = mHelper.getCurrent().getTitleFormatted(mContext, true);
+        mCursor = Putio.Files.getCursor(mPutId, mResult);
 
-        mCache.add(
+        mToken = mCache.add(
                 mCurrentPutId,
-                helper.getVideos(),
-                helper.getFolders(),
-                helper.getCurrent()
+                mHelper.getVideos(),
+                mHelper.getFolders(),
+                mHelper.getCurrent()
         );
 
+        if (mShouldStore) {
+            store();
+        }
+
         return null;
     }
 
+    /**
+     * A paged listing is only complete once the last page has been stored
+     */
+    private void store() {
+        FolderListingDao dao = AppDatabase.getInstance(mContext).folderListingDao();
+        dao.start(FolderListing.start(mPutId, mResult.getParent()), FolderListingFile.fromListing(mPutId, mResult));
+
+        if (mCursor == null) {
+            dao.complete(mPutId, mResult.getFiles().size());
+        }
+    }
+
     @Override
     protected void onMain(Void param) {
         VirtualDirectory virtual = VirtualDirectory.getFromPutId(mContext, mCurrentPutId);
@@ -57,7 +121,12 @@ public class ProcessPutResponse extends Async.Runner<Void> {
             historyItem = HistoryItem.virtualDirectory(mCurrentPutId, mCurrentTitle);
         }
 
-        Broadcast.Videos.loaded(mContext, historyItem, mCache.getVideos(mCurrentPutId), mCache.getFolders(mCurrentPutId), mShouldAddToHistory);
+        // the lists that were just cached, reading them back would count as a cache hit //
+        Broadcast.Videos.loaded(mContext, historyItem, mHelper.getVideos(), mHelper.getFolders(), mShouldAddToHistory);
+
+        if (mCursor != null) {
+            Putio.Files.next(mContext, mCursor, new OnPutPageResponse(mContext, mPutId, historyItem, mHelper.getCurrent(), mToken, mResult.getFiles().size(), mShouldStore, mGeneration));
+        }
     }
 
 }
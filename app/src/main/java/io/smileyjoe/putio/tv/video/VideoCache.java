@@ -1,70 +1,494 @@
 package io.smileyjoe.putio.tv.video;
 
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+import android.view.Choreographer;
+
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.stream.Collectors;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import io.smileyjoe.putio.tv.Application;
 import io.smileyjoe.putio.tv.interfaces.Folder;
 import io.smileyjoe.putio.tv.object.Video;
 
+/**
+ * In memory cache of folder listings keyed by put.io folder id.
+ * Entries are evicted least recently used first once the byte budget is reached,
+ * the budget is a fraction of the heap available to the app so low ram devices hold less.
+ */
 public class VideoCache {
 
-    private HashMap<Long, ArrayList<Video>> mVideos;
-    private HashMap<Long, ArrayList<Folder>> mFolders;
-    private HashMap<Long, Video> mParents;
-    private static VideoCache sInstance;
+    private static final long TTL = TimeUnit.MINUTES.toMillis(30);
+    // rough in memory cost of a parsed object, strings and uris included //
+    private static final int BYTES_VIDEO = 2 * 1024;
+    private static final int BYTES_FOLDER = 512;
+    private static final int BYTES_ENTRY = 256;
+    private static final int HEAP_DIVISOR = 16;
+    private static final int HEAP_DIVISOR_LOW_RAM = 32;
+    private static final int DEFAULT_MEMORY_CLASS_MB = 64;
+
+    private static volatile VideoCache sInstance;
+    private static final AtomicLong sTokens = new AtomicLong();
+
+    private final Cache mEntries;
+    // putId -> every folder list position the video is cached at //
+    private final HashMap<Long, ArrayList<Location>> mVideoIndex = new HashMap<>();
+    // putId -> every folder the video is cached as the parent of //
+    private final HashMap<Long, HashSet<Long>> mParentIndex = new HashMap<>();
+    // folder id -> token of the listing last added for it, kept when the entry is evicted for space //
+    private final HashMap<Long, Long> mTokens = new HashMap<>();
+    private final LinkedHashMap<Long, Video> mPendingUpdates = new LinkedHashMap<>();
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private boolean mIsUpdateScheduled = false;
+    private final AtomicLong mHits = new AtomicLong();
+    private final AtomicLong mMisses = new AtomicLong();
 
     public static VideoCache getInstance() {
         if (sInstance == null) {
-            sInstance = new VideoCache();
+            synchronized (VideoCache.class) {
+                if (sInstance == null) {
+                    sInstance = new VideoCache(getBudget(Application.getStaticContext()));
+                }
+            }
         }
 
         return sInstance;
     }
 
-    private VideoCache() {
-        mVideos = new HashMap<>();
-        mFolders = new HashMap<>();
-        mParents = new HashMap<>();
+    private VideoCache(int maxBytes) {
+        mEntries = new Cache(maxBytes);
+    }
+
+    private static int getBudget(Context context) {
+        int memoryClass = DEFAULT_MEMORY_CLASS_MB;
+        boolean isLowRam = false;
+
+        if (context != null) {
+            ActivityManager manager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+
+            if (manager != null) {
+                memoryClass = manager.getMemoryClass();
+                isLowRam = manager.isLowRamDevice();
+            }
+        }
+
+        int divisor = isLowRam ? HEAP_DIVISOR_LOW_RAM : HEAP_DIVISOR;
+
+        return (memoryClass * 1024 * 1024) / divisor;
+    }
+
+    public synchronized void update(Video updateVideo) {
+        ArrayList<Location> locations = mVideoIndex.get(updateVideo.getPutId());
+
+        if (locations != null) {
+            for (Location location : locations) {
+                Entry entry = mEntries.get(location.mFolderId);
+
+                if (entry != null && entry.mVideos != null) {
+                    int position = getPosition(entry.mVideos, location.mPosition, updateVideo.getPutId());
+
+                    if (position >= 0) {
+                        entry.mVideos.set(position, updateVideo);
+                    }
+                }
+            }
+        }
+
+        HashSet<Long> parentOf = mParentIndex.get(updateVideo.getPutId());
+
+        if (parentOf != null) {
+            for (Long folderId : parentOf) {
+                Entry entry = mEntries.get(folderId);
+
+                if (entry != null) {
+                    entry.mParent = updateVideo;
+                }
+            }
+        }
+    }
+
+    /**
+     * The lists are handed out and can be changed by whoever has them, so the indexed position is
+     * only trusted if the same video is still there
+     *
+     * @return -1 if the video is no longer in the list
+     */
+    private static int getPosition(ArrayList<Video> videos, int position, long putId) {
+        if (position < videos.size() && videos.get(position).getPutId() == putId) {
+            return position;
+        }
+
+        for (int i = 0; i < videos.size(); i++) {
+            if (videos.get(i).getPutId() == putId) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Queue an update to be applied on the next frame, a burst of updates for the
+     * same frame is applied together and only the latest version of each video is kept.
+     */
+    public void updateNextFrame(Video updateVideo) {
+        synchronized (mPendingUpdates) {
+            mPendingUpdates.put(updateVideo.getPutId(), updateVideo);
+
+            if (mIsUpdateScheduled) {
+                return;
+            }
+
+            mIsUpdateScheduled = true;
+        }
+
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            scheduleUpdates();
+        } else {
+            mMainHandler.post(this::scheduleUpdates);
+        }
+    }
+
+    private void scheduleUpdates() {
+        Choreographer.getInstance().postFrameCallback(frameTimeNanos -> applyPendingUpdates());
     }
 
-    public void update(Video updateVideo) {
-        mVideos.entrySet().stream()
-                .forEach(entry -> {
-                    mVideos.put(entry.getKey(), entry.getValue().stream()
-                            .map(video -> video.getPutId() == updateVideo.getPutId() ? updateVideo : video)
-                            .collect(Collectors.toCollection(ArrayList::new)));
-                });
+    private void applyPendingUpdates() {
+        ArrayList<Video> updates;
 
-        mParents.entrySet().stream()
-                .filter(entry -> entry.getValue().getPutId() == updateVideo.getPutId())
-                .forEach(entry -> mParents.put(entry.getKey(), updateVideo));
+        synchronized (mPendingUpdates) {
+            updates = new ArrayList<>(mPendingUpdates.values());
+            mPendingUpdates.clear();
+            mIsUpdateScheduled = false;
+        }
+
+        synchronized (this) {
+            for (Video video : updates) {
+                update(video);
+            }
+        }
     }
 
-    public void add(long currentId, ArrayList<Video> videos, ArrayList<Folder> folders, Video parent) {
-        addParent(currentId, parent);
-        mVideos.put(currentId, videos);
-        mFolders.put(currentId, folders);
+    /**
+     * @return the token for this listing, further pages are only added with it by {@link #append}
+     */
+    public synchronized long add(long currentId, ArrayList<Video> videos, ArrayList<Folder> folders, Video parent) {
+        Entry entry = new Entry();
+        entry.mVideos = videos;
+        entry.mFolders = folders;
+        entry.mParent = parent;
+        put(currentId, entry);
+
+        long token = sTokens.incrementAndGet();
+        mTokens.put(currentId, token);
+
+        return token;
     }
 
-    public void addParent(long id, Video parent) {
-        mParents.put(id, parent);
+    /**
+     * Add a further page of videos and folders to an already cached folder
+     *
+     * @param token from {@link #add} for the first page of the listing
+     * @return false if the folder has since been cleared or listed again, the page is for a listing
+     * that has been replaced
+     */
+    public synchronized boolean append(long id, long token, ArrayList<Video> videos, ArrayList<Folder> folders) {
+        if (!isCurrent(id, token)) {
+            return false;
+        }
+
+        Entry existing = mEntries.get(id);
+
+        if (existing == null) {
+            // evicted for space, the listing is still the current one //
+            return true;
+        }
+
+        ArrayList<Video> mergedVideos = new ArrayList<>(existing.mVideos == null ? new ArrayList<>() : existing.mVideos);
+        ArrayList<Folder> mergedFolders = new ArrayList<>(existing.mFolders == null ? new ArrayList<>() : existing.mFolders);
+        mergedVideos.addAll(videos);
+        mergedFolders.addAll(folders);
+
+        Entry entry = new Entry(existing.mCreatedAt);
+        entry.mVideos = mergedVideos;
+        entry.mFolders = mergedFolders;
+        entry.mParent = existing.mParent;
+        put(id, entry);
+
+        return true;
     }
 
-    public ArrayList<Video> getVideos(long putId) {
-        return mVideos.get(putId);
+    /**
+     * @param token from {@link #add}
+     * @return false if the folder has since been cleared or listed again
+     */
+    public synchronized boolean isCurrent(long id, long token) {
+        Long current = mTokens.get(id);
+        return current != null && current == token;
     }
 
-    public ArrayList<Folder> getFolders(long putId) {
-        return mFolders.get(putId);
+    /**
+     * Attach the parent to a cached folder, the folder keeps the age it already had
+     */
+    public synchronized void addParent(long id, Video parent) {
+        Entry existing = mEntries.get(id);
+        Entry entry;
+
+        if (existing != null) {
+            // a new entry so the lru cache picks up the extra size //
+            entry = new Entry(existing.mCreatedAt);
+            entry.mVideos = existing.mVideos;
+            entry.mFolders = existing.mFolders;
+        } else {
+            entry = new Entry();
+        }
+
+        entry.mParent = parent;
+        put(id, entry);
     }
 
-    public Video getParent(long putId) {
-        return mParents.get(putId);
+    /**
+     * Counted as a hit or miss, as is {@link #getParent(long)}, so a folder lookup should only use one of them
+     */
+    public synchronized ArrayList<Video> getVideos(long putId) {
+        Entry entry = getFresh(putId);
+        return count(entry == null ? null : entry.mVideos);
+    }
+
+    public synchronized ArrayList<Folder> getFolders(long putId) {
+        Entry entry = getFresh(putId);
+        return entry == null ? null : entry.mFolders;
+    }
+
+    public synchronized Video getParent(long putId) {
+        Entry entry = getFresh(putId);
+        return count(entry == null ? null : entry.mParent);
+    }
+
+    public synchronized boolean isStale(long putId) {
+        Entry entry = mEntries.get(putId);
+        return entry == null || entry.isStale();
+    }
+
+    public synchronized void clear(long putId) {
+        mEntries.remove(putId);
+        mTokens.remove(putId);
+    }
+
+    /**
+     * Only clears the folder if it is still the listing the token is for
+     */
+    public synchronized void clear(long putId, long token) {
+        if (isCurrent(putId, token)) {
+            clear(putId);
+        }
+    }
+
+    public synchronized void clear() {
+        mEntries.evictAll();
+        mTokens.clear();
+    }
+
+    /**
+     * Shed entries in response to {@link ComponentCallbacks2#onTrimMemory(int)}
+     */
+    public synchronized void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_COMPLETE
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            mEntries.evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            mEntries.trimToSize(mEntries.maxSize() / 4);
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE) {
+            mEntries.trimToSize(mEntries.maxSize() / 2);
+        }
     }
 
-    public void clear(long putId){
-        mVideos.remove(putId);
+    public long getHitCount() {
+        return mHits.get();
     }
 
+    public long getMissCount() {
+        return mMisses.get();
+    }
+
+    public synchronized long getEvictionCount() {
+        return mEntries.evictionCount();
+    }
+
+    public synchronized int getSizeBytes() {
+        return mEntries.size();
+    }
+
+    public synchronized int getMaxSizeBytes() {
+        return mEntries.maxSize();
+    }
+
+    private Entry getFresh(long putId) {
+        Entry entry = mEntries.get(putId);
+
+        if (entry != null && entry.isStale()) {
+            mEntries.remove(putId);
+            entry = null;
+        }
+
+        return entry;
+    }
+
+    private void put(long folderId, Entry entry) {
+        mEntries.put(folderId, entry);
+        indexIfCached(folderId, entry);
+    }
+
+    private void indexIfCached(long folderId, Entry entry) {
+        // an entry bigger than the whole budget is evicted straight away //
+        if (mEntries.get(folderId) == entry) {
+            index(folderId, entry);
+        }
+    }
+
+    private void index(long folderId, Entry entry) {
+        if (entry.mVideos != null) {
+            for (int i = 0; i < entry.mVideos.size(); i++) {
+                long putId = entry.mVideos.get(i).getPutId();
+                ArrayList<Location> locations = mVideoIndex.get(putId);
+
+                if (locations == null) {
+                    locations = new ArrayList<>(1);
+                    mVideoIndex.put(putId, locations);
+                }
+
+                locations.add(new Location(folderId, i));
+            }
+        }
+
+        if (entry.mParent != null) {
+            long putId = entry.mParent.getPutId();
+            HashSet<Long> parentOf = mParentIndex.get(putId);
+
+            if (parentOf == null) {
+                parentOf = new HashSet<>(1);
+                mParentIndex.put(putId, parentOf);
+            }
+
+            parentOf.add(folderId);
+        }
+    }
+
+    private void unindex(long folderId, Entry entry) {
+        if (entry.mVideos != null) {
+            for (Video video : entry.mVideos) {
+                ArrayList<Location> locations = mVideoIndex.get(video.getPutId());
+
+                if (locations != null) {
+                    Iterator<Location> iterator = locations.iterator();
+
+                    while (iterator.hasNext()) {
+                        if (iterator.next().mFolderId == folderId) {
+                            iterator.remove();
+                        }
+                    }
+
+                    if (locations.isEmpty()) {
+                        mVideoIndex.remove(video.getPutId());
+                    }
+                }
+            }
+        }
+
+        if (entry.mParent != null) {
+            HashSet<Long> parentOf = mParentIndex.get(entry.mParent.getPutId());
+
+            if (parentOf != null) {
+                parentOf.remove(folderId);
+
+                if (parentOf.isEmpty()) {
+                    mParentIndex.remove(entry.mParent.getPutId());
+                }
+            }
+        }
+    }
+
+    private <T> T count(T value) {
+        if (value == null) {
+            mMisses.incrementAndGet();
+        } else {
+            mHits.incrementAndGet();
+        }
+
+        return value;
+    }
+
+    private static class Entry {
+        private ArrayList<Video> mVideos;
+        private ArrayList<Folder> mFolders;
+        private Video mParent;
+        private final long mCreatedAt;
+
+        private Entry() {
+            this(System.currentTimeMillis());
+        }
+
+        private Entry(long createdAt) {
+            mCreatedAt = createdAt;
+        }
+
+        private boolean isStale() {
+            return System.currentTimeMillis() - mCreatedAt > TTL;
+        }
+
+        private int getSizeBytes() {
+            int size = BYTES_ENTRY;
+
+            if (mVideos != null) {
+                size += mVideos.size() * BYTES_VIDEO;
+            }
+
+            if (mFolders != null) {
+                size += mFolders.size() * BYTES_FOLDER;
+            }
+
+            if (mParent != null) {
+                size += BYTES_VIDEO;
+            }
+
+            return size;
+        }
+    }
+
+    private static class Location {
+        private final long mFolderId;
+        private final int mPosition;
+
+        private Location(long folderId, int position) {
+            mFolderId = folderId;
+            mPosition = position;
+        }
+    }
+
+    private class Cache extends LruCache<Long, Entry> {
+        public Cache(int maxSize) {
+            super(maxSize);
+        }
+
+        @Override
+        protected void entryRemoved(boolean evicted, Long key, Entry oldValue, Entry newValue) {
+            unindex(key, oldValue);
+        }
+
+        @Override
+        protected int sizeOf(Long key, Entry value) {
+            return value.getSizeBytes();
+        }
+    }
 }
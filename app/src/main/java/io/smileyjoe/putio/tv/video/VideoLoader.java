@@ -1,18 +1,35 @@
 package io.smileyjoe.putio.tv.video;
 
 import android.content.Context;
+import android.util.Log;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import io.smileyjoe.putio.tv.broadcast.Broadcast;
 import io.smileyjoe.putio.tv.db.AppDatabase;
+import io.smileyjoe.putio.tv.db.DatabaseWriter;
+import io.smileyjoe.putio.tv.db.FolderListingDao;
 import io.smileyjoe.putio.tv.network.Putio;
+import io.smileyjoe.putio.tv.network.Tmdb;
+import io.smileyjoe.putio.tv.network.TmdbResponseCache;
+import io.smileyjoe.putio.tv.object.FolderListingFile;
 import io.smileyjoe.putio.tv.object.HistoryItem;
 import io.smileyjoe.putio.tv.object.Video;
+import io.smileyjoe.putio.tv.torrent.ParsedNameCache;
+import io.smileyjoe.putio.tv.util.Async;
+import io.smileyjoe.putio.tv.util.EnrichmentScheduler;
 import io.smileyjoe.putio.tv.util.PutioHelper;
+import io.smileyjoe.putio.tv.util.PutioListingReader;
+import io.smileyjoe.putio.tv.util.TmdbMatcher;
 
 public class VideoLoader {
 
+    private static final String TAG = "VideoLoader";
+    private static final long STORED_LISTING_MAX_AGE = TimeUnit.DAYS.toMillis(30);
+
     private ArrayList<HistoryItem> mHistory;
     private VideoCache mCache;
     private Context mContext;
@@ -25,24 +42,38 @@ public class VideoLoader {
 
     public void loadDirectory() {
         mHistory = new ArrayList<>();
-        getFromPut(Putio.Files.NO_PARENT, true);
+        EnrichmentScheduler.getInstance().newGeneration();
+        Async.run(() -> {
+            AppDatabase.getInstance(mContext).folderListingDao()
+                    .deleteOlderThan(System.currentTimeMillis() - STORED_LISTING_MAX_AGE);
+            TmdbMatcher.sweepCache(mContext);
+            TmdbResponseCache.sweep(mContext);
+            ParsedNameCache.sweep(mContext);
+        });
+        getFromPut(Putio.Files.NO_PARENT, true, true);
     }
 
     public void loadDirectory(Long putId, String title) {
+        EnrichmentScheduler.getInstance().newGeneration();
         loadDirectory(putId, title, true);
     }
 
     private void loadDirectory(Long putId, String title, boolean shouldAddToHistory) {
+        loadDirectory(putId, title, shouldAddToHistory, true);
+    }
+
+    private void loadDirectory(Long putId, String title, boolean shouldAddToHistory, boolean useStored) {
         ArrayList<Video> videos = mCache.getVideos(putId);
 
         if (videos == null) {
-            getFromPut(putId, shouldAddToHistory);
+            getFromPut(putId, shouldAddToHistory, useStored);
         } else {
             Broadcast.Videos.loaded(mContext, HistoryItem.directory(putId, title), videos, mCache.getFolders(putId), shouldAddToHistory);
         }
     }
 
     public void loadGroup(Integer id) {
+        EnrichmentScheduler.getInstance().newGeneration();
         loadGroup(new Long(id), true);
     }
 
@@ -52,9 +83,15 @@ public class VideoLoader {
     }
 
     public void refresh(Video video) {
+        // a write still waiting for the video would put back what is being deleted //
+        DatabaseWriter.getInstance(mContext).flush();
         AppDatabase.getInstance(mContext).videoDao().delete(video.getPutId());
+        // asked for because the details are wrong or out of date, don't answer with the stored ones //
+        Tmdb.invalidate(mContext, video.getTmdbId());
+        Tmdb.invalidate(mContext, video.getParentTmdbId());
         PutioHelper helper = new PutioHelper(mContext);
-        helper.parse(video.getPutId(), video.getParentTmdbId(), Putio.Files.get(mContext, video.getPutId()));
+        helper.setPriority(EnrichmentScheduler.Priority.VISIBLE);
+        helper.parse(video.getPutId(), video.getParentTmdbId(), Putio.Files.getListing(mContext, video.getPutId()));
     }
 
     public boolean back() {
@@ -62,6 +99,7 @@ public class VideoLoader {
             HistoryItem current = getCurrentHistory();
             mHistory.remove(current);
             current = getCurrentHistory();
+            EnrichmentScheduler.getInstance().newGeneration();
 
             switch (current.getFolderType()) {
                 case DIRECTORY:
@@ -89,7 +127,7 @@ public class VideoLoader {
             }
             switch (current.getFolderType()) {
                 case DIRECTORY:
-                    loadDirectory(current.getId(), current.getTitle(), false);
+                    loadDirectory(current.getId(), current.getTitle(), false, !clearCache);
                     break;
                 case GROUP:
                     loadGroup(current.getId(), false);
@@ -98,9 +136,117 @@ public class VideoLoader {
         }
     }
 
-    private void getFromPut(long putId, boolean shouldAddToHistory) {
+    private void getFromPut(long putId, boolean shouldAddToHistory, boolean useStored) {
         Broadcast.Videos.loadStarted(mContext);
-        Putio.Files.get(mContext, putId, new OnPutResponse(mContext, putId, shouldAddToHistory));
+        // taken now, the user may have moved on by the time the listing arrives //
+        int generation = EnrichmentScheduler.getInstance().getGeneration();
+
+        if (!useStored) {
+            Putio.Files.get(mContext, putId, new OnPutResponse(mContext, putId, shouldAddToHistory, generation));
+            return;
+        }
+
+        Async.run(() -> readStored(putId), stored -> {
+            if (stored == null) {
+                Putio.Files.get(mContext, putId, new OnPutResponse(mContext, putId, shouldAddToHistory, generation));
+            } else {
+                ProcessStoredResponse response = new ProcessStoredResponse(putId, shouldAddToHistory, stored);
+                response.setGeneration(generation);
+                response.run();
+            }
+        });
+    }
+
+    /**
+     * The stored listing is only a head start, one that can't be read is dropped and the folder
+     * is fetched like it was never stored
+     */
+    private List<FolderListingFile> readStored(long putId) {
+        FolderListingDao dao = AppDatabase.getInstance(mContext).folderListingDao();
+
+        try {
+            return dao.getComplete(putId);
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Stored listing unreadable: " + putId, e);
+        }
+
+        try {
+            dao.delete(putId);
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Stored listing not deleted: " + putId, e);
+        }
+
+        return null;
+    }
+
+    public boolean isCurrent(long putId) {
+        return mHistory != null && !mHistory.isEmpty() && getCurrentHistory().getId() == putId;
+    }
+
+    public boolean isCurrent(HistoryItem item) {
+        return isCurrent(item.getId()) && getCurrentHistory().getFolderType() == item.getFolderType();
+    }
+
+    /**
+     * Shows the stored listing straight away, then fetches the live listing and only
+     * shows that as well if it differs and the folder is still on screen.
+     */
+    private class ProcessStoredResponse extends ProcessPutResponse {
+        private long mPutId;
+        private List<FolderListingFile> mStored;
+        private HashSet<Long> mStoredPutIds = new HashSet<>();
+
+        public ProcessStoredResponse(long putId, boolean shouldAddToHistory, List<FolderListingFile> stored) {
+            super(mContext, putId, shouldAddToHistory, null, false);
+            mPutId = putId;
+            mStored = stored;
+        }
+
+        @Override
+        protected Void onBackground() {
+            setResult(FolderListingFile.toListing(mStored));
+
+            for (FolderListingFile file : mStored) {
+                if (!file.isParent()) {
+                    mStoredPutIds.add(file.getPutId());
+                }
+            }
+
+            return super.onBackground();
+        }
+
+        @Override
+        protected void onMain(Void param) {
+            super.onMain(param);
+            Async.run(() -> Putio.Files.getListing(mContext, mPutId), this::revalidate);
+        }
+
+        private void revalidate(PutioListingReader.Listing result) {
+            if (result == null) {
+                return;
+            }
+
+            if (FolderListingFile.fromListing(mPutId, result).equals(mStored)) {
+                // still current, so it shouldn't age out like a folder that isn't opened //
+                long now = System.currentTimeMillis();
+                Async.run(() -> AppDatabase.getInstance(mContext).folderListingDao().touch(mPutId, now));
+                return;
+            }
+
+            ProcessPutResponse response = new ProcessPutResponse(mContext, mPutId, false, result) {
+                @Override
+                protected void onMain(Void param) {
+                    if (isCurrent(mPutId)) {
+                        super.onMain(param);
+                    }
+                }
+            };
+
+            // the stored pass already looked these up //
+            response.skipTmdb(mStoredPutIds);
+            response.setGeneration(getGeneration());
+            response.run();
+        }
     }
 
     /**
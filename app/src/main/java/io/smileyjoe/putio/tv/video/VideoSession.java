@@ -0,0 +1,177 @@
+package io.smileyjoe.putio.tv.video;
+
+import android.content.Context;
+import android.content.Intent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import io.smileyjoe.putio.tv.network.Putio;
+import io.smileyjoe.putio.tv.object.Video;
+import io.smileyjoe.putio.tv.util.Async;
+import io.smileyjoe.putio.tv.util.PutioListingReader;
+import io.smileyjoe.putio.tv.util.VideoUtil;
+
+/**
+ * Hands videos from one activity to the next without parcelling them.
+ * The intent only carries a session token and the put ids, the receiving activity gets the same
+ * video instances back. If the process was killed in between the videos are reloaded from put.io
+ * and the database.
+ */
+public class VideoSession {
+
+    public interface Listener {
+        /**
+         * @param video null if it could not be reloaded
+         * @param videos null if no list was handed over
+         */
+        void onRestored(Video video, ArrayList<Video> videos);
+    }
+
+    private static final String EXTRA_TOKEN = "session_token";
+    private static final String EXTRA_PUT_ID = "session_put_id";
+    private static final String EXTRA_PUT_IDS = "session_put_ids";
+    private static final int MAX_SESSIONS = 10;
+
+    private static final LinkedHashMap<String, Session> sSessions = new LinkedHashMap<String, Session>(MAX_SESSIONS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Session> eldest) {
+            return size() > MAX_SESSIONS;
+        }
+    };
+
+    private VideoSession() {
+    }
+
+    public static void putExtras(Intent intent, Video video, ArrayList<Video> videos) {
+        String token = UUID.randomUUID().toString();
+
+        put(token, new Session(video, videos == null ? null : new ArrayList<>(videos)));
+
+        intent.putExtra(EXTRA_TOKEN, token);
+        intent.putExtra(EXTRA_PUT_ID, video.getPutId());
+
+        if (videos != null) {
+            long[] putIds = new long[videos.size()];
+
+            for (int i = 0; i < videos.size(); i++) {
+                putIds[i] = videos.get(i).getPutId();
+            }
+
+            intent.putExtra(EXTRA_PUT_IDS, putIds);
+        }
+    }
+
+    /**
+     * The listener is called straight away when the session is still in memory, otherwise once the
+     * videos have been reloaded
+     */
+    public static void restore(Context context, Intent intent, Listener listener) {
+        String token = intent.getStringExtra(EXTRA_TOKEN);
+        Session session = token == null ? null : get(token);
+
+        if (session != null) {
+            listener.onRestored(session.mVideo, session.mVideos);
+            return;
+        }
+
+        long putId = intent.getLongExtra(EXTRA_PUT_ID, Putio.Files.NO_PARENT);
+        long[] putIds = intent.getLongArrayExtra(EXTRA_PUT_IDS);
+
+        if (token == null || putId == Putio.Files.NO_PARENT) {
+            listener.onRestored(null, null);
+            return;
+        }
+
+        Async.run(() -> {
+            Session reloaded = load(context, putId, putIds);
+
+            if (reloaded.mVideo != null) {
+                put(token, reloaded);
+            }
+
+            return reloaded;
+        }, reloaded -> listener.onRestored(reloaded.mVideo, reloaded.mVideos));
+    }
+
+    /**
+     * The video's own listing has its stream links, the rest of the list is almost always the
+     * folder it is in so that is read once rather than each video on its own.
+     * Nothing is looked up on TMDB, whatever is stored is used.
+     */
+    private static Session load(Context context, long putId, long[] putIds) {
+        PutioListingReader.Listing listing = Putio.Files.getListing(context, putId);
+
+        if (listing == null || listing.getParent() == null) {
+            return new Session(null, null);
+        }
+
+        ArrayList<Video> putVideos = new ArrayList<>();
+        putVideos.add(listing.getParent());
+
+        if (putIds != null && putIds.length > 1) {
+            Set<Long> others = new HashSet<>();
+
+            for (long id : putIds) {
+                if (id != putId) {
+                    others.add(id);
+                }
+            }
+
+            PutioListingReader.Listing siblings = Putio.Files.getListing(context, listing.getParent().getParentPutId());
+
+            if (siblings != null) {
+                for (Video sibling : siblings.getFiles()) {
+                    if (others.contains(sibling.getPutId())) {
+                        putVideos.add(sibling);
+                    }
+                }
+            }
+        }
+
+        HashMap<Long, Video> videos = new HashMap<>();
+
+        for (Video video : VideoUtil.mergeWithDb(context, putVideos)) {
+            videos.put(video.getPutId(), video);
+        }
+
+        ArrayList<Video> ordered = null;
+
+        if (putIds != null) {
+            ordered = new ArrayList<>();
+
+            for (long id : putIds) {
+                Video video = videos.get(id);
+
+                if (video != null) {
+                    ordered.add(video);
+                }
+            }
+        }
+
+        return new Session(videos.get(putId), ordered);
+    }
+
+    private static synchronized void put(String token, Session session) {
+        sSessions.put(token, session);
+    }
+
+    private static synchronized Session get(String token) {
+        return sSessions.get(token);
+    }
+
+    private static class Session {
+        private final Video mVideo;
+        private final ArrayList<Video> mVideos;
+
+        private Session(Video video, ArrayList<Video> videos) {
+            mVideo = video;
+            mVideos = videos;
+        }
+    }
+}
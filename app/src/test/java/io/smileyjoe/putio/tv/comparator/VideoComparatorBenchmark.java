@@ -0,0 +1,150 @@
+package io.smileyjoe.putio.tv.comparator;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Sorting 10k put titles the way the alphabetical order used to, with compareToIgnoreCase,
+ * against the sort keys a {@link io.smileyjoe.putio.tv.object.Video} caches.
+ * Times are printed rather than asserted, the JVM isn't the device.
+ */
+public class VideoComparatorBenchmark {
+
+    private static final int TITLE_COUNT = 10000;
+    private static final int WARMUP = 5;
+    private static final int RUNS = 20;
+
+    private static final String[] WORDS = {"the", "a", "an", "matrix", "star", "wars", "office", "breaking",
+            "bad", "game", "of", "thrones", "amélie", "léon", "crown", "doctor", "who", "planet", "earth", "lost"};
+    private static final String[] TAGS = {"1080p", "720p", "2160p", "BluRay", "WEB-DL", "x264", "x265", "HDTV"};
+
+    private static final Comparator<Entry> PUT_TITLE = (one, two) -> one.mTitle.compareToIgnoreCase(two.mTitle);
+    private static final Comparator<Entry> SORT_KEY = (one, two) -> VideoComparator.compare(one.getKey(), two.getKey());
+
+    @Test
+    public void sort_10kTitles() {
+        List<String> titles = titles(new Random(15L));
+
+        long putTitle = best(titles, PUT_TITLE, false);
+        long sortKeyCold = best(titles, SORT_KEY, false);
+        long sortKeyCached = best(titles, SORT_KEY, true);
+
+        System.out.println(String.format(Locale.ROOT,
+                "%d titles: compareToIgnoreCase %.2fms, sort key built %.2fms, sort key cached %.2fms",
+                TITLE_COUNT, putTitle / 1e6, sortKeyCold / 1e6, sortKeyCached / 1e6));
+    }
+
+    /**
+     * @param cached keys are built before the clock starts, as they are once a video has been sorted
+     * @return the fastest sort in nanos
+     */
+    private static long best(List<String> titles, Comparator<Entry> comparator, boolean cached) {
+        long best = Long.MAX_VALUE;
+
+        for (int i = 0; i < WARMUP + RUNS; i++) {
+            List<Entry> entries = entries(titles);
+
+            if (cached) {
+                for (Entry entry : entries) {
+                    entry.getKey();
+                }
+            }
+
+            long start = System.nanoTime();
+            Collections.sort(entries, comparator);
+            long time = System.nanoTime() - start;
+
+            assertSorted(entries, comparator);
+
+            if (i >= WARMUP) {
+                best = Math.min(best, time);
+            }
+        }
+
+        return best;
+    }
+
+    private static void assertSorted(List<Entry> entries, Comparator<Entry> comparator) {
+        for (int i = 1; i < entries.size(); i++) {
+            assertTrue(comparator.compare(entries.get(i - 1), entries.get(i)) <= 0);
+        }
+    }
+
+    private static List<Entry> entries(List<String> titles) {
+        List<Entry> entries = new ArrayList<>(titles.size());
+
+        for (String title : titles) {
+            entries.add(new Entry(title));
+        }
+
+        return entries;
+    }
+
+    /**
+     * A mix of release names, episodes and plain titles
+     */
+    private static List<String> titles(Random random) {
+        List<String> titles = new ArrayList<>(TITLE_COUNT);
+
+        for (int i = 0; i < TITLE_COUNT; i++) {
+            char separator = random.nextBoolean() ? '.' : (random.nextBoolean() ? ' ' : '_');
+            StringBuilder title = new StringBuilder();
+            int words = 1 + random.nextInt(4);
+
+            for (int w = 0; w < words; w++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+
+                if (w > 0) {
+                    title.append(separator);
+                }
+
+                title.append(random.nextBoolean() ? word : Character.toUpperCase(word.charAt(0)) + word.substring(1));
+            }
+
+            switch (random.nextInt(3)) {
+                case 0:
+                    title.append(separator).append(String.format(Locale.ROOT, "S%02dE%02d", 1 + random.nextInt(12), 1 + random.nextInt(24)));
+                    break;
+                case 1:
+                    title.append(separator).append(1950 + random.nextInt(75));
+                    break;
+            }
+
+            if (random.nextBoolean()) {
+                title.append(separator).append(TAGS[random.nextInt(TAGS.length)]);
+            }
+
+            titles.add(title.toString());
+        }
+
+        return titles;
+    }
+
+    /**
+     * Holds its key the way a video does, built the first time it is compared
+     */
+    private static class Entry {
+        private final String mTitle;
+        private byte[] mKey;
+
+        private Entry(String title) {
+            mTitle = title;
+        }
+
+        private byte[] getKey() {
+            if (mKey == null) {
+                mKey = new VideoComparator.SortKey(mTitle).getKey();
+            }
+
+            return mKey;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.smileyjoe.putio.tv.comparator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class VideoComparatorTest {
+
+    @Test
+    public void sortKey_separatorsAreSpaces() {
+        assertSame("The Matrix 1999", "The.Matrix.1999");
+        assertSame("The Matrix 1999", "the_matrix_1999");
+        assertSame("The Matrix 1999", "The._Matrix..1999.");
+    }
+
+    @Test
+    public void sortKey_leadingArticleDropped() {
+        assertSame("Matrix", "The Matrix");
+        assertSame("Matrix", "the.Matrix");
+        assertSame("American Werewolf in London", "An American Werewolf in London");
+        assertSame("Bug's Life", "A Bug's Life");
+    }
+
+    @Test
+    public void sortKey_articleOnlyWhenLeadingWord() {
+        assertDifferent("Theater", "ater");
+        assertDifferent("Andor", "dor");
+        assertDifferent("Matrix", "Matrix The");
+        // nothing follows it so it is the title //
+        assertDifferent("The", "");
+    }
+
+    @Test
+    public void sortKey_caseIgnored() {
+        assertSame("the matrix", "THE MATRIX");
+    }
+
+    @Test
+    public void sortKey_numbersByValue() {
+        assertSame("Episode 2", "Episode 02");
+        assertSame("Episode 2", "Episode 0002");
+        assertSame("Episode 0", "Episode 000");
+    }
+
+    @Test
+    public void sortKey_empty() {
+        assertEquals(0, new VideoComparator.SortKey(null).getKey().length);
+        assertEquals(0, new VideoComparator.SortKey("").getKey().length);
+    }
+
+    @Test
+    public void sortKey_isFor() {
+        VideoComparator.SortKey sortKey = new VideoComparator.SortKey("The Matrix");
+
+        assertTrue(sortKey.isFor("The Matrix"));
+        assertFalse(sortKey.isFor("The.Matrix"));
+        assertFalse(sortKey.isFor(null));
+        assertTrue(new VideoComparator.SortKey(null).isFor(null));
+    }
+
+    @Test
+    public void compare_order() {
+        assertOrder(
+                "",
+                "Alien",
+                "Aliens",
+                "Amélie",
+                "An American Werewolf in London",
+                "Avatar",
+                "A Bug's Life",
+                "The.Matrix.1999",
+                "The Matrix Reloaded",
+                "Star.Wars.Episode.4",
+                "Star Wars Episode 5",
+                "Star_Wars_Episode_10",
+                "Theater",
+                "Zodiac");
+    }
+
+    @Test
+    public void compare_episodeNumbers() {
+        assertOrder(
+                "Show.S01E01",
+                "Show.S01E02",
+                "Show.S01E10",
+                "Show.S02E01",
+                "Show.S10E01");
+    }
+
+    @Test
+    public void compare_unsigned() {
+        assertTrue(VideoComparator.compare(new byte[]{1}, new byte[]{(byte) 0xff}) < 0);
+        assertTrue(VideoComparator.compare(new byte[]{1}, new byte[]{1, 0}) < 0);
+        assertEquals(0, VideoComparator.compare(new byte[]{1, 2}, new byte[]{1, 2}));
+    }
+
+    private static void assertSame(String one, String two) {
+        assertArrayEquals(one + " vs " + two, new VideoComparator.SortKey(one).getKey(), new VideoComparator.SortKey(two).getKey());
+    }
+
+    private static void assertDifferent(String one, String two) {
+        assertFalse(one + " vs " + two, Arrays.equals(new VideoComparator.SortKey(one).getKey(), new VideoComparator.SortKey(two).getKey()));
+    }
+
+    private static void assertOrder(String... expected) {
+        List<String> titles = new ArrayList<>(Arrays.asList(expected));
+
+        Collections.reverse(titles);
+        titles.sort((one, two) -> VideoComparator.compare(new VideoComparator.SortKey(one).getKey(), new VideoComparator.SortKey(two).getKey()));
+
+        assertEquals(Arrays.asList(expected), titles);
+    }
+}
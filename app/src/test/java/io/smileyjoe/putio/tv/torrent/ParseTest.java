@@ -0,0 +1,106 @@
+package io.smileyjoe.putio.tv.torrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ParseTest {
+
+    private static final String GOLDEN = "torrent/release_names.tsv";
+
+    @Test
+    public void parse_matchesGolden() throws IOException {
+        LinkedHashMap<String, HashMap<String, String>> golden = readGolden();
+
+        assertTrue(golden.size() > 50);
+
+        for (Map.Entry<String, HashMap<String, String>> entry : golden.entrySet()) {
+            assertEquals(entry.getKey(), entry.getValue(), Parse.parse(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void parse_isRepeatable() throws IOException {
+        for (String name : readGolden().keySet()) {
+            assertEquals(name, Parse.parse(name), Parse.parse(name));
+        }
+    }
+
+    @Test
+    public void parse_movie() {
+        HashMap<String, String> parsed = Parse.parse("The.Matrix.1999.1080p.BluRay.x264-SPARKS");
+
+        assertEquals("The Matrix", parsed.get("title"));
+        assertEquals("1999", parsed.get("year"));
+        assertEquals("true", parsed.get("is_movie"));
+        assertEquals("false", parsed.get("is_episode"));
+    }
+
+    @Test
+    public void parse_episode() {
+        HashMap<String, String> parsed = Parse.parse("Game.of.Thrones.S08E06.1080p.WEB.H264-MEMENTO");
+
+        assertEquals("Game of Thrones", parsed.get("title"));
+        assertEquals("8", parsed.get("season"));
+        assertEquals("6", parsed.get("episode"));
+        assertEquals("true", parsed.get("is_episode"));
+        assertEquals("false", parsed.get("is_season"));
+    }
+
+    @Test
+    public void parse_season() {
+        HashMap<String, String> parsed = Parse.parse("Friends.S10.COMPLETE.1080p.BluRay.x264-ROVERS");
+
+        assertEquals("10", parsed.get("season"));
+        assertEquals("true", parsed.get("is_season"));
+    }
+
+    @Test
+    public void parse_empty() {
+        assertTrue(Parse.parse("").isEmpty());
+        assertTrue(Parse.parse(null).isEmpty());
+    }
+
+    /**
+     * Release name to everything it parses to, in file order
+     */
+    private LinkedHashMap<String, HashMap<String, String>> readGolden() throws IOException {
+        LinkedHashMap<String, HashMap<String, String>> golden = new LinkedHashMap<>();
+        InputStream stream = getClass().getClassLoader().getResourceAsStream(GOLDEN);
+
+        assertNotNull(GOLDEN, stream);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                String[] columns = line.split("\t");
+                HashMap<String, String> expected = new HashMap<>();
+
+                for (int i = 1; i < columns.length; i++) {
+                    int split = columns[i].indexOf('=');
+                    expected.put(columns[i].substring(0, split), columns[i].substring(split + 1));
+                }
+
+                golden.put(columns[0], expected);
+            }
+        }
+
+        return golden;
+    }
+}
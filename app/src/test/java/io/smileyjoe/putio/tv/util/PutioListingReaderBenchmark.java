@@ -0,0 +1,88 @@
+package io.smileyjoe.putio.tv.util;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Reading a put.io listing with {@link PutioListingReader} against the json tree it replaced,
+ * on the fixtures and on a folder grown from the season fixture.
+ * Times are printed rather than asserted, the JVM isn't the device.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PutioListingReaderBenchmark {
+
+    private static final int LARGE_FILE_COUNT = 5000;
+    private static final int WARMUP = 20;
+    private static final int RUNS = 50;
+
+    @Test
+    public void read_fixtures() throws IOException {
+        run("root", PutioListingReaderTest.fixture(PutioListingReaderTest.FIXTURE_ROOT));
+        run("season", PutioListingReaderTest.fixture(PutioListingReaderTest.FIXTURE_SEASON));
+    }
+
+    @Test
+    public void read_largeFolder() throws IOException {
+        run(LARGE_FILE_COUNT + " files", grow(PutioListingReaderTest.fixture(PutioListingReaderTest.FIXTURE_SEASON), LARGE_FILE_COUNT));
+    }
+
+    private static void run(String name, byte[] json) throws IOException {
+        int fileCount = PutioListingReaderTest.readTree(json).getAsJsonArray("files").size();
+        long tree = Long.MAX_VALUE;
+        long streamed = Long.MAX_VALUE;
+
+        for (int i = 0; i < WARMUP + RUNS; i++) {
+            long start = System.nanoTime();
+            PutioListingReader.Listing treeListing = PutioListingReaderTest.fromTree(PutioListingReaderTest.readTree(json));
+            long treeTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            PutioListingReader.Listing streamedListing = PutioListingReader.read(new ByteArrayInputStream(json));
+            long streamedTime = System.nanoTime() - start;
+
+            assertEquals(fileCount, treeListing.getFiles().size());
+            assertEquals(fileCount, streamedListing.getFiles().size());
+
+            if (i >= WARMUP) {
+                tree = Math.min(tree, treeTime);
+                streamed = Math.min(streamed, streamedTime);
+            }
+        }
+
+        System.out.println(String.format(Locale.ROOT,
+                "%s (%d files, %dKB): json tree %.3fms, streamed %.3fms",
+                name, fileCount, json.length / 1024, tree / 1e6, streamed / 1e6));
+    }
+
+    /**
+     * The fixture with its files repeated under new ids until there are fileCount of them
+     */
+    private static byte[] grow(byte[] json, int fileCount) {
+        JsonObject jsonObject = PutioListingReaderTest.readTree(json);
+        JsonArray files = jsonObject.getAsJsonArray("files");
+        JsonArray grown = new JsonArray();
+
+        for (int i = 0; i < fileCount; i++) {
+            JsonElement file = files.get(i % files.size()).deepCopy();
+
+            file.getAsJsonObject().addProperty("id", 100000L + i);
+            grown.add(file);
+        }
+
+        jsonObject.add("files", grown);
+
+        return jsonObject.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+package io.smileyjoe.putio.tv.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import io.smileyjoe.putio.tv.object.FolderListingFile;
+import io.smileyjoe.putio.tv.object.Video;
+
+// Video needs the real Uri and TextUtils //
+@RunWith(RobolectricTestRunner.class)
+public class PutioListingReaderTest {
+
+    static final String FIXTURE_ROOT = "putio/files_list_root.json";
+    static final String FIXTURE_SEASON = "putio/files_list_season.json";
+
+    @Test
+    public void read_matchesJsonTree_root() throws IOException {
+        assertParity(fixture(FIXTURE_ROOT));
+    }
+
+    @Test
+    public void read_matchesJsonTree_season() throws IOException {
+        assertParity(fixture(FIXTURE_SEASON));
+    }
+
+    @Test
+    public void read_root() throws IOException {
+        PutioListingReader.Listing listing = PutioListingReader.read(new ByteArrayInputStream(fixture(FIXTURE_ROOT)));
+
+        assertEquals(0, listing.getParent().getPutId());
+        // a null parent_id is read the same as a missing one //
+        assertEquals(-1, listing.getParent().getParentPutId());
+        assertEquals(15, listing.getFiles().size());
+        assertNull(listing.getCursor());
+    }
+
+    @Test
+    public void read_season() throws IOException {
+        PutioListingReader.Listing listing = PutioListingReader.read(new ByteArrayInputStream(fixture(FIXTURE_SEASON)));
+        Video first = listing.getFiles().get(0);
+
+        assertEquals(4000, listing.getParent().getPutId());
+        assertEquals(17, listing.getFiles().size());
+        assertNotNull(listing.getCursor());
+        assertEquals(4101, first.getPutId());
+        assertEquals(4000, first.getParentPutId());
+        assertEquals("Breaking.Bad.S05E01.1080p.BluRay.x264-ROVERS.mkv", first.getPutTitle());
+        assertEquals(3372056227L, first.getSize());
+    }
+
+    private static void assertParity(byte[] json) throws IOException {
+        PutioListingReader.Listing streamed = PutioListingReader.read(new ByteArrayInputStream(json));
+        JsonObject tree = readTree(json);
+
+        assertEquals(FolderListingFile.fromListing(0, fromTree(tree)), FolderListingFile.fromListing(0, streamed));
+        assertEquals(new JsonUtil(tree).getString("cursor"), streamed.getCursor());
+    }
+
+    static JsonObject readTree(byte[] json) {
+        return new Gson().fromJson(new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8), JsonObject.class);
+    }
+
+    /**
+     * The listing the way it was mapped before {@link PutioListingReader}, with {@link VideoUtil#fromPut(JsonObject)}
+     */
+    static PutioListingReader.Listing fromTree(JsonObject jsonObject) {
+        Video parent = jsonObject.get("parent").isJsonObject() ? VideoUtil.fromPut(jsonObject.getAsJsonObject("parent")) : null;
+        ArrayList<Video> files = VideoUtil.fromPut(jsonObject.getAsJsonArray("files"));
+
+        return new PutioListingReader.Listing(parent, files);
+    }
+
+    static byte[] fixture(String name) throws IOException {
+        InputStream stream = PutioListingReaderTest.class.getClassLoader().getResourceAsStream(name);
+
+        assertNotNull(name, stream);
+
+        try (InputStream input = stream) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+
+            return output.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package io.smileyjoe.putio.tv.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+public class TitleScorerTest {
+
+    private static final String ALPHABET_ASCII = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 .-_:'";
+    private static final String ALPHABET_OTHER = "éÉèàÀüÜöÖßçÇñÑøØåÅ"
+            + "абвгдАБВГД"
+            + "αβγδσςΑΒΓΔΣ"
+            + "İıIi"
+            + "日本語映画"
+            + "𐐀𐐨";
+
+    private static final double[] MIN_SCORES = {0.0, 0.3, 0.6, 0.8, 1.0};
+
+    @Test
+    public void distance_matchesLevenshtein_ascii() {
+        Random random = new Random(16L);
+
+        for (int i = 0; i < 5000; i++) {
+            assertParity(randomTitle(random, ALPHABET_ASCII, 40), randomTitle(random, ALPHABET_ASCII, 40));
+        }
+    }
+
+    @Test
+    public void distance_matchesLevenshtein_nonAscii() {
+        Random random = new Random(17L);
+        String alphabet = ALPHABET_ASCII + ALPHABET_OTHER;
+
+        for (int i = 0; i < 5000; i++) {
+            assertParity(randomTitle(random, alphabet, 40), randomTitle(random, alphabet, 40));
+        }
+    }
+
+    @Test
+    public void distance_matchesLevenshtein_longerThanWord() {
+        Random random = new Random(18L);
+        String alphabet = ALPHABET_ASCII + ALPHABET_OTHER;
+
+        for (int i = 0; i < 1000; i++) {
+            String one = randomTitle(random, alphabet, 150);
+            String two = random.nextBoolean() ? mutate(random, one, alphabet) : randomTitle(random, alphabet, 150);
+
+            assertParity(one, two);
+        }
+    }
+
+    @Test
+    public void distance_matchesLevenshtein_aroundWordSize() {
+        Random random = new Random(19L);
+
+        for (int length = 60; length <= 70; length++) {
+            for (int i = 0; i < 200; i++) {
+                String one = randomTitle(random, ALPHABET_ASCII, length, length);
+                String two = mutate(random, one, ALPHABET_ASCII);
+
+                assertParity(one, two);
+            }
+        }
+    }
+
+    @Test
+    public void distance_matchesLevenshtein_similarTitles() {
+        Random random = new Random(20L);
+        String alphabet = ALPHABET_ASCII + ALPHABET_OTHER;
+
+        for (int i = 0; i < 5000; i++) {
+            String one = randomTitle(random, alphabet, 90);
+
+            assertParity(one, mutate(random, one, alphabet));
+        }
+    }
+
+    @Test
+    public void distance_matchesLevenshtein_knownTitles() {
+        assertParity("The Matrix", "the matrix");
+        assertParity("The Matrix", "The Matrix Reloaded");
+        assertParity("Amélie", "Amelie");
+        assertParity("Ὀδύσσεια", "ΟΔΥΣΣΕΙΑ");
+        assertParity("İstanbul", "istanbul");
+        assertParity("Léon: The Professional", "Leon The Professional");
+        assertParity("千と千尋の神隠し", "千と千尋");
+    }
+
+    @Test
+    public void score_empty() {
+        assertEquals(0.0, TitleScorer.score("", "The Matrix", 0.0), 0.0);
+        assertEquals(0.0, TitleScorer.score(null, "The Matrix", 0.0), 0.0);
+        assertEquals(TitleScorer.NO_SCORE, TitleScorer.score("The Matrix", "", 0.8), 0.0);
+    }
+
+    private static void assertParity(String one, String two) {
+        int expected = levenshteinDistance(one, two);
+        String message = "'" + one + "' vs '" + two + "'";
+
+        assertEquals(message, expected, TitleScorer.distance(one, two, Integer.MAX_VALUE));
+        assertEquals(message, expected, TitleScorer.distance(two, one, Integer.MAX_VALUE));
+
+        for (double minScore : MIN_SCORES) {
+            double expectedScore = calculateMatchScore(one, two);
+            double score = TitleScorer.score(one, two, minScore);
+
+            if (expectedScore >= minScore) {
+                assertEquals(message + " at " + minScore, expectedScore, score, 0.0);
+            } else {
+                assertEquals(message + " at " + minScore, TitleScorer.NO_SCORE, score, 0.0);
+            }
+
+            // a cut short distance is still above the limit it was cut at //
+            int maxDistance = (int) Math.floor((1.0 - minScore) * Math.max(one.length(), two.length()));
+            int bounded = TitleScorer.distance(one, two, maxDistance);
+
+            if (expected <= maxDistance) {
+                assertEquals(message + " within " + maxDistance, expected, bounded);
+            } else {
+                assertTrue(message + " within " + maxDistance, bounded > maxDistance);
+            }
+        }
+    }
+
+    private static String randomTitle(Random random, String alphabet, int maxLength) {
+        return randomTitle(random, alphabet, 1, maxLength);
+    }
+
+    private static String randomTitle(Random random, String alphabet, int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder builder = new StringBuilder();
+
+        while (builder.length() < length) {
+            appendChar(random, alphabet, builder);
+        }
+
+        return builder.toString();
+    }
+
+    private static String mutate(Random random, String title, String alphabet) {
+        StringBuilder builder = new StringBuilder(title);
+        int edits = 1 + random.nextInt(6);
+
+        for (int i = 0; i < edits && builder.length() > 0; i++) {
+            int index = random.nextInt(builder.length());
+
+            // keep surrogate pairs whole //
+            if (Character.isLowSurrogate(builder.charAt(index))) {
+                index--;
+            }
+
+            int length = Character.isHighSurrogate(builder.charAt(index)) ? 2 : 1;
+
+            switch (random.nextInt(4)) {
+                case 0:
+                    builder.delete(index, index + length);
+                    break;
+                case 1:
+                    StringBuilder insert = new StringBuilder();
+                    appendChar(random, alphabet, insert);
+                    builder.insert(index, insert);
+                    break;
+                case 2:
+                    String c = builder.substring(index, index + length);
+                    builder.replace(index, index + length, random.nextBoolean()
+                            ? c.toUpperCase(Locale.ROOT)
+                            : c.toLowerCase(Locale.ROOT));
+                    break;
+                default:
+                    StringBuilder replace = new StringBuilder();
+                    appendChar(random, alphabet, replace);
+                    builder.replace(index, index + length, replace.toString());
+                    break;
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static void appendChar(Random random, String alphabet, StringBuilder builder) {
+        int index = random.nextInt(alphabet.length());
+        char c = alphabet.charAt(index);
+
+        if (Character.isLowSurrogate(c)) {
+            index--;
+            c = alphabet.charAt(index);
+        }
+
+        builder.append(c);
+
+        if (Character.isHighSurrogate(c)) {
+            builder.append(alphabet.charAt(index + 1));
+        }
+    }
+
+    /**
+     * The scoring {@link TitleScorer} replaced in TmdbMatcher, kept as the reference
+     */
+    private static int levenshteinDistance(String s1, String s2) {
+        String a = s1.toLowerCase(Locale.ROOT);
+        String b = s2.toLowerCase(Locale.ROOT);
+
+        int[] costs = new int[b.length() + 1];
+        for (int j = 0; j < costs.length; j++) {
+            costs[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            costs[0] = i;
+            int nw = i - 1;
+            for (int j = 1; j <= b.length(); j++) {
+                int cj = Math.min(Math.min(costs[j] + 1, costs[j - 1] + 1),
+                                  a.charAt(i - 1) == b.charAt(j - 1) ? nw : nw + 1);
+                nw = costs[j];
+                costs[j] = cj;
+            }
+        }
+
+        return costs[b.length()];
+    }
+
+    private static double calculateMatchScore(String queryTitle, String resultTitle) {
+        if (queryTitle.isEmpty() || resultTitle.isEmpty()) {
+            return 0.0;
+        }
+
+        int distance = levenshteinDistance(queryTitle, resultTitle);
+        int maxLen = Math.max(queryTitle.length(), resultTitle.length());
+
+        if (maxLen == 0) {
+            return 1.0;
+        }
+
+        return 1.0 - ((double) distance / maxLen);
+    }
+}